@@ -0,0 +1,96 @@
+package com.automention.framework.benchmarks;
+
+import com.automention.framework.api.JsonDiffEngine;
+import com.automention.framework.api.JsonDiffResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.skyscreamer.jsonassert.JSONCompare;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.skyscreamer.jsonassert.JSONCompareResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON Diff Benchmark
+ * Compares JSONAssert with JsonDiffEngine on products list responses: strict on identical order,
+ * lenient on a shuffled copy. Without an id (keyless, extraFields) no product field is unique,
+ * which is where JSONAssert's lenient array matching turns quadratic; with extraFields the shuffled
+ * products also carry fields the expected ones lack. Run with -prof gc to compare heap use
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JsonDiffBenchmark {
+
+    @Param({"1000", "5000"})
+    private int products;
+
+    @Param({"keyed", "keyless", "extraFields"})
+    private String shape;
+
+    private final JsonDiffEngine diffEngine = new JsonDiffEngine(List.of("id"), 100);
+
+    private String expected;
+    private String sameOrder;
+    private String shuffled;
+
+    @Setup
+    public void setUp() {
+        boolean keyed = "keyed".equals(shape);
+        List<String> items = new ArrayList<>();
+        List<String> actualItems = new ArrayList<>();
+        for (int i = 1; i <= products; i++) {
+            // Without the id no field is unique: names repeat every 50 products
+            String id = keyed ? "\"id\":" + i + "," : "";
+            String fields = "\"name\":\"Product " + (keyed ? i : i % 50) + "\",\"price\":\"Rs. " + (100 + i % 900)
+                    + "\",\"brand\":\"Brand " + (i % 20) + "\",\"category\":{\"usertype\":{\"usertype\":\""
+                    + (i % 2 == 0 ? "Women" : "Men") + "\"},\"category\":\"Category " + (i % 12) + "\"}";
+            items.add("{" + id + fields + "}");
+            actualItems.add("extraFields".equals(shape)
+                    ? "{" + id + "\"availability\":\"In Stock\",\"rating\":" + (i % 5) + "," + fields + "}"
+                    : "{" + id + fields + "}");
+        }
+        expected = document(items);
+        sameOrder = document(items);
+        Collections.shuffle(actualItems, new Random(42));
+        shuffled = document(actualItems);
+    }
+
+    @Benchmark
+    public boolean jsonAssertStrict() throws Exception {
+        JSONCompareResult result = JSONCompare.compareJSON(expected, sameOrder, JSONCompareMode.STRICT);
+        return result.passed();
+    }
+
+    @Benchmark
+    public boolean diffEngineStrict() throws Exception {
+        JsonDiffResult result = diffEngine.compare(expected, sameOrder, JsonDiffEngine.Mode.STRICT);
+        return result.isEqual();
+    }
+
+    @Benchmark
+    public boolean jsonAssertLenient() throws Exception {
+        JSONCompareResult result = JSONCompare.compareJSON(expected, shuffled, JSONCompareMode.LENIENT);
+        return result.passed();
+    }
+
+    @Benchmark
+    public boolean diffEngineLenient() throws Exception {
+        JsonDiffResult result = diffEngine.compare(expected, shuffled, JsonDiffEngine.Mode.LENIENT);
+        return result.isEqual();
+    }
+
+    private static String document(List<String> items) {
+        return "{\"responseCode\":200,\"products\":[" + String.join(",", items) + "]}";
+    }
+}
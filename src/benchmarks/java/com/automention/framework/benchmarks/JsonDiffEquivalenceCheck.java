@@ -0,0 +1,271 @@
+package com.automention.framework.benchmarks;
+
+import com.automention.framework.api.JsonDiffEngine;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.skyscreamer.jsonassert.JSONCompare;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * JSON Diff Equivalence Check
+ * Compares random documents with JSONAssert and JsonDiffEngine in STRICT and LENIENT mode and
+ * fails when they disagree. Covers keyless object arrays, actual elements with extra fields and
+ * arrays of more than 16 element shapes. Arguments: [cases per kind and mode] [seed]
+ */
+public class JsonDiffEquivalenceCheck {
+
+    private static final JsonNodeFactory nodes = JsonNodeFactory.instance;
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final List<String> FIELDS = List.of("name", "brand", "price", "category", "stock", "tag", "color", "size");
+    private static final int REPORTED_DISAGREEMENTS = 5;
+
+    /**
+     * Kinds of generated documents
+     */
+    enum Kind {
+        // Nested objects, scalar arrays and arrays of arrays
+        MIXED,
+        // Product arrays in which no field is unique
+        KEYLESS,
+        // Keyless products whose actual copies carry fields the expected ones lack
+        EXTRA_FIELDS,
+        // Arrays of up to 40 objects, each with its own subset of fields
+        MANY_SHAPES
+    }
+
+    private final JsonDiffEngine diffEngine = new JsonDiffEngine(List.of("id"), 100);
+    private final Random random;
+
+    private JsonDiffEquivalenceCheck(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int cases = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+        JsonDiffEquivalenceCheck check = new JsonDiffEquivalenceCheck(seed);
+        int disagreements = 0;
+        for (Kind kind : Kind.values()) {
+            for (JsonDiffEngine.Mode mode : JsonDiffEngine.Mode.values()) {
+                disagreements += check.run(kind, mode, cases);
+            }
+        }
+        if (disagreements > 0) {
+            System.out.println(disagreements + " disagreement(s) with JSONAssert (seed " + seed + ")");
+            System.exit(1);
+        }
+        System.out.println("JsonDiffEngine agreed with JSONAssert on every case (seed " + seed + ")");
+    }
+
+    private int run(Kind kind, JsonDiffEngine.Mode mode, int cases) throws Exception {
+        JSONCompareMode jsonAssertMode = mode == JsonDiffEngine.Mode.STRICT ? JSONCompareMode.STRICT : JSONCompareMode.LENIENT;
+        int passed = 0;
+        int disagreements = 0;
+        for (int i = 0; i < cases; i++) {
+            JsonNode expected = document(kind);
+            JsonNode actual = mutate(expected, kind, mode);
+            String expectedJson = objectMapper.writeValueAsString(expected);
+            String actualJson = objectMapper.writeValueAsString(actual);
+
+            boolean jsonAssert = JSONCompare.compareJSON(expectedJson, actualJson, jsonAssertMode).passed();
+            boolean engine = diffEngine.compare(expected, actual, mode).isEqual();
+            if (engine != diffEngine.matches(expected, actual, mode)) {
+                throw new IllegalStateException("compare and matches disagree on " + expectedJson + " / " + actualJson);
+            }
+            if (jsonAssert) {
+                passed++;
+            }
+            if (jsonAssert != engine) {
+                if (++disagreements <= REPORTED_DISAGREEMENTS) {
+                    System.out.println(kind + " " + mode + ": JSONAssert " + (jsonAssert ? "passed" : "failed")
+                            + ", JsonDiffEngine " + (engine ? "passed" : "failed")
+                            + "\n  expected: " + expectedJson + "\n  actual:   " + actualJson);
+                }
+            }
+        }
+        System.out.printf("%-12s %-7s %7d cases, %7d passing, %d disagreement(s)%n", kind, mode, cases, passed, disagreements);
+        return disagreements;
+    }
+
+    private JsonNode document(Kind kind) {
+        ObjectNode root = nodes.objectNode();
+        root.put("responseCode", 200);
+        switch (kind) {
+            case MIXED -> root.set("data", object(3));
+            case KEYLESS, EXTRA_FIELDS -> root.set("products", products(2 + random.nextInt(30)));
+            case MANY_SHAPES -> root.set("products", shapes(17 + random.nextInt(24)));
+        }
+        return root;
+    }
+
+    /**
+     * Products drawn from small value pools, so no field is unique once there are a few of them
+     */
+    private ArrayNode products(int count) {
+        ArrayNode products = nodes.arrayNode();
+        for (int i = 0; i < count; i++) {
+            ObjectNode product = products.addObject();
+            product.put("name", "Product " + random.nextInt(3));
+            product.put("price", random.nextInt(3));
+            ObjectNode category = product.putObject("category");
+            category.put("usertype", random.nextBoolean() ? "Women" : "Men");
+            if (random.nextInt(4) == 0) {
+                category.put("category", "Tops");
+            }
+        }
+        return products;
+    }
+
+    /**
+     * Objects with random non-empty field subsets, so an array holds many distinct shapes
+     */
+    private ArrayNode shapes(int count) {
+        ArrayNode elements = nodes.arrayNode();
+        for (int i = 0; i < count; i++) {
+            ObjectNode element = elements.addObject();
+            for (String field : FIELDS) {
+                if (random.nextInt(3) == 0) {
+                    element.put(field, random.nextInt(2));
+                }
+            }
+            if (element.isEmpty()) {
+                element.put(FIELDS.get(random.nextInt(FIELDS.size())), random.nextInt(2));
+            }
+            if (random.nextInt(5) == 0) {
+                element.putObject("details").put(FIELDS.get(random.nextInt(FIELDS.size())), random.nextInt(2));
+            }
+        }
+        return elements;
+    }
+
+    private ObjectNode object(int depth) {
+        ObjectNode object = nodes.objectNode();
+        int fields = 1 + random.nextInt(4);
+        for (int i = 0; i < fields; i++) {
+            object.set(FIELDS.get(random.nextInt(FIELDS.size())), value(depth - 1));
+        }
+        return object;
+    }
+
+    private ArrayNode array(int depth) {
+        ArrayNode array = nodes.arrayNode();
+        int size = random.nextInt(6);
+        int elementKind = random.nextInt(3);
+        for (int i = 0; i < size; i++) {
+            if (elementKind == 0 || depth <= 0) {
+                array.add(scalar());
+            } else if (elementKind == 1) {
+                array.add(object(depth - 1));
+            } else {
+                array.add(value(depth - 1));
+            }
+        }
+        return array;
+    }
+
+    private JsonNode value(int depth) {
+        int choice = depth > 0 ? random.nextInt(6) : 0;
+        return choice == 4 ? object(depth) : choice == 5 ? array(depth) : scalar();
+    }
+
+    /**
+     * Integers, short strings, booleans and null; no doubles, which JSONAssert compares by
+     * representation (1 is not 1.0) where JsonDiffEngine compares by value
+     */
+    private JsonNode scalar() {
+        return switch (random.nextInt(4)) {
+            case 0 -> nodes.numberNode(random.nextInt(3));
+            case 1 -> nodes.textNode(String.valueOf((char) ('a' + random.nextInt(3))));
+            case 2 -> nodes.booleanNode(random.nextBoolean());
+            default -> nodes.nullNode();
+        };
+    }
+
+    /**
+     * Copy of expected, shuffled and with extra fields as the mode tolerates, and in half the
+     * cases with one change that may or may not break the match
+     */
+    private JsonNode mutate(JsonNode expected, Kind kind, JsonDiffEngine.Mode mode) {
+        JsonNode actual = expected.deepCopy();
+        boolean lenient = mode == JsonDiffEngine.Mode.LENIENT;
+        int extraFieldPercent = kind == Kind.EXTRA_FIELDS ? (lenient ? 80 : 5) : (lenient ? 10 : 2);
+        int shufflePercent = lenient ? 80 : 3;
+        reshape(actual, extraFieldPercent, shufflePercent);
+        if (random.nextBoolean()) {
+            List<JsonNode> containers = new ArrayList<>();
+            collectContainers(actual, containers);
+            breakOne(containers.get(random.nextInt(containers.size())));
+        }
+        return actual;
+    }
+
+    private void reshape(JsonNode node, int extraFieldPercent, int shufflePercent) {
+        for (JsonNode child : node) {
+            reshape(child, extraFieldPercent, shufflePercent);
+        }
+        if (node.isObject() && random.nextInt(100) < extraFieldPercent) {
+            ObjectNode object = (ObjectNode) node;
+            object.put(random.nextBoolean() ? "availability" : "rating", random.nextInt(3));
+        } else if (node.isArray() && random.nextInt(100) < shufflePercent) {
+            ArrayNode array = (ArrayNode) node;
+            List<JsonNode> elements = new ArrayList<>();
+            array.forEach(elements::add);
+            Collections.shuffle(elements, random);
+            array.removeAll();
+            array.addAll(elements);
+        }
+    }
+
+    private static void collectContainers(JsonNode node, List<JsonNode> containers) {
+        containers.add(node);
+        for (JsonNode child : node) {
+            if (child.isContainerNode()) {
+                collectContainers(child, containers);
+            }
+        }
+    }
+
+    /**
+     * Change one field or element: replace a value, drop it, or add or swap an array element
+     */
+    private void breakOne(JsonNode container) {
+        if (container.isObject()) {
+            ObjectNode object = (ObjectNode) container;
+            List<String> names = new ArrayList<>();
+            object.fieldNames().forEachRemaining(names::add);
+            if (names.isEmpty() || random.nextInt(4) == 0) {
+                object.put(FIELDS.get(random.nextInt(FIELDS.size())), random.nextInt(3));
+                return;
+            }
+            String name = names.get(random.nextInt(names.size()));
+            if (random.nextBoolean()) {
+                object.remove(name);
+            } else {
+                object.set(name, scalar());
+            }
+            return;
+        }
+        ArrayNode array = (ArrayNode) container;
+        int size = array.size();
+        switch (size == 0 ? 0 : random.nextInt(4)) {
+            case 0 -> array.add(scalar());
+            case 1 -> array.remove(random.nextInt(size));
+            case 2 -> array.set(random.nextInt(size), array.get(random.nextInt(size)).deepCopy());
+            default -> {
+                int from = random.nextInt(size);
+                int to = random.nextInt(size);
+                JsonNode moved = array.get(from);
+                array.set(from, array.get(to));
+                array.set(to, moved);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.automention.framework.benchmarks;
+
+import com.automention.framework.utils.TestResultDocument;
+import com.automention.framework.utils.TestResultWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result Serialization Benchmark
+ * Compares the map-based result document path (HashMap + putAll + ObjectMapper) with the typed
+ * TestResultDocument streamed by TestResultWriter. Run with -prof gc to see allocation per result
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResultSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Map<String, Map<String, Object>> commandLatency;
+    private List<String> tags;
+
+    @Setup
+    public void setUp() {
+        commandLatency = new TreeMap<>();
+        for (String command : List.of("WebDriver.get", "WebDriver.findElement", "WebElement.click",
+                "WebElement.sendKeys", "JavascriptExecutor.executeScript")) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", 12L);
+            stats.put("p50Ms", 18.5);
+            stats.put("p95Ms", 41.0);
+            stats.put("p99Ms", 63.2);
+            stats.put("maxMs", 70.4);
+            stats.put("totalMs", 260.3);
+            commandLatency.put(command, stats);
+        }
+        tags = List.of("@Scenario2", "@authenticated", "@smoke");
+    }
+
+    @Benchmark
+    public byte[] mapBased() throws Exception {
+        Map<String, Object> additionalData = new HashMap<>();
+        additionalData.put("tags", tags);
+        additionalData.put("thread", "TestNG-PoolService-1");
+        additionalData.put("browser", "chrome");
+        additionalData.put("gridUrl", "http://localhost:4444/wd/hub");
+        additionalData.put("featurename", "Scenario2_LoginWithApiTest");
+        additionalData.put("testCaseName", "Scenario2_LoginWithApiTest");
+        additionalData.put("waitTimeMs", 420L);
+        additionalData.put("commandLatency", commandLatency);
+        additionalData.put("loginMessage", "Congratulations student. You successfully logged in!");
+
+        Map<String, Object> document = new HashMap<>();
+        document.put("scenario", "Login with valid credentials");
+        document.put("status", "PASSED");
+        document.put("timestamp", LocalDateTime.now().toString());
+        document.put("screenshotRef", "sha256:9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08");
+        document.put("errorMessage", "");
+        String featureName = additionalData.get("featurename").toString();
+        String status = "PASSED";
+        document.putAll(additionalData);
+        document.put("featurename", featureName);
+        document.put("testCaseName", additionalData.get("testCaseName").toString());
+        document.put("loginMessage", additionalData.get("loginMessage").toString());
+        document.put("featurename_status", featureName + " - " + status);
+        return objectMapper.writeValueAsBytes(document);
+    }
+
+    @Benchmark
+    public int typedStreaming() throws Exception {
+        TestResultDocument document = new TestResultDocument("Login with valid credentials", "PASSED");
+        document.setResultId("5f0c6a52-0d39-4c1e-9d1e-8f1c2b7e4a11");
+        document.setScreenshotRef("sha256:9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08");
+        document.setTags(tags);
+        document.setThread("TestNG-PoolService-1");
+        document.setBrowser("chrome");
+        document.setGridUrl("http://localhost:4444/wd/hub");
+        document.setFeatureName("Scenario2_LoginWithApiTest");
+        document.setTestCaseName("Scenario2_LoginWithApiTest");
+        document.setWaitTimeMs(420L);
+        document.setCommandLatency(commandLatency);
+        document.setLoginMessage("Congratulations student. You successfully logged in!");
+        // The reusable buffer is what gets appended to the spool, so no byte[] copy is made
+        return TestResultWriter.serialize(document).size();
+    }
+}
@@ -0,0 +1,296 @@
+package com.automention.framework.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * API Cassette
+ * Recorded HTTP exchanges, stored as one gzipped JSON file in which each distinct body is kept
+ * once (keyed by SHA-256). Requests are matched on the parts selected by the match rules; when a
+ * request was recorded several times, replays return the recordings in order and then repeat the last.
+ * Recording into a loaded cassette merges: a request recorded again replaces its earlier
+ * recordings, and everything else is kept
+ */
+public class ApiCassette {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Where API requests go: the live endpoint, the live endpoint while recording, or the cassette only
+     */
+    public enum Mode {
+        LIVE,
+        RECORD,
+        REPLAY
+    }
+
+    /**
+     * Request parts that must be equal for a recording to match
+     */
+    public enum MatchRule {
+        METHOD,
+        HOST,
+        PATH,
+        QUERY
+    }
+
+    /**
+     * Delay applied to replayed responses: none, the recorded latency (scaled) or a fixed delay
+     */
+    public enum Latency {
+        NONE,
+        RECORDED,
+        FIXED
+    }
+
+    private final Set<MatchRule> matchRules;
+    private final List<Interaction> interactions = new ArrayList<>();
+    private final Map<String, List<Interaction>> byKey = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> replayPositions = new ConcurrentHashMap<>();
+    // Requests recorded by this run; their recordings from earlier runs have been replaced
+    private final Set<String> rerecorded = ConcurrentHashMap.newKeySet();
+
+    public ApiCassette(Set<MatchRule> matchRules) {
+        this.matchRules = matchRules.isEmpty() ? EnumSet.allOf(MatchRule.class) : EnumSet.copyOf(matchRules);
+    }
+
+    /**
+     * Read a cassette written by save
+     */
+    public static ApiCassette load(Path file, Set<MatchRule> matchRules) throws IOException {
+        ApiCassette cassette = new ApiCassette(matchRules);
+        JsonNode document;
+        try (InputStream input = new GZIPInputStream(Files.newInputStream(file))) {
+            document = objectMapper.readTree(input);
+        }
+        if (document.path("version").asInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported cassette version " + document.path("version") + " in " + file);
+        }
+        JsonNode bodies = document.path("bodies");
+        for (JsonNode node : document.path("interactions")) {
+            Map<String, String> headers = new LinkedHashMap<>();
+            node.path("headers").fields().forEachRemaining(header -> headers.put(header.getKey(), header.getValue().asText()));
+            JsonNode body = bodies.path(node.path("body").asText());
+            byte[] content = "base64".equals(body.path("encoding").asText())
+                    ? Base64.getDecoder().decode(body.path("content").asText())
+                    : body.path("content").asText().getBytes(StandardCharsets.UTF_8);
+            cassette.add(new Interaction(node.path("method").asText(), node.path("url").asText(),
+                    node.path("status").asInt(), headers, content, node.path("latencyMs").asLong()));
+        }
+        return cassette;
+    }
+
+    /**
+     * Find the recording for a request, or null when nothing recorded matches
+     */
+    public Interaction match(String method, URI uri) {
+        String key = key(method, uri);
+        List<Interaction> recorded = byKey.get(key);
+        if (recorded == null) {
+            return null;
+        }
+        int position = replayPositions.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        synchronized (recorded) {
+            return recorded.get(Math.min(position, recorded.size() - 1));
+        }
+    }
+
+    /**
+     * Add an exchange, unless an identical response was already recorded for the same request;
+     * returns whether it was added
+     */
+    public synchronized boolean record(Interaction interaction) {
+        String key = key(interaction.method, URI.create(interaction.url));
+        if (rerecorded.add(key)) {
+            List<Interaction> previous = byKey.remove(key);
+            if (previous != null) {
+                interactions.removeAll(previous);
+            }
+        }
+        List<Interaction> recorded = byKey.get(key);
+        if (recorded != null) {
+            synchronized (recorded) {
+                for (Interaction existing : recorded) {
+                    if (existing.status == interaction.status && Arrays.equals(existing.body, interaction.body)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        add(interaction);
+        return true;
+    }
+
+    /**
+     * Write the cassette atomically (temporary file, then move)
+     */
+    public synchronized void save(Path file) throws IOException {
+        ObjectNode document = objectMapper.createObjectNode();
+        document.put("version", FORMAT_VERSION);
+        document.put("recordedAt", Instant.now().toString());
+        ArrayNode entries = document.putArray("interactions");
+        ObjectNode bodies = objectMapper.createObjectNode();
+        for (Interaction interaction : interactions) {
+            String hash = sha256(interaction.body);
+            ObjectNode entry = entries.addObject();
+            entry.put("method", interaction.method);
+            entry.put("url", interaction.url);
+            entry.put("status", interaction.status);
+            entry.set("headers", objectMapper.valueToTree(interaction.headers));
+            entry.put("body", hash);
+            entry.put("latencyMs", interaction.latencyMs);
+            if (!bodies.has(hash)) {
+                ObjectNode body = bodies.putObject(hash);
+                String text = utf8(interaction.body);
+                body.put("encoding", text != null ? "utf-8" : "base64");
+                body.put("content", text != null ? text : Base64.getEncoder().encodeToString(interaction.body));
+            }
+        }
+        document.set("bodies", bodies);
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(temp))) {
+            objectMapper.writeValue(output, document);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public synchronized int size() {
+        return interactions.size();
+    }
+
+    private void add(Interaction interaction) {
+        interactions.add(interaction);
+        byKey.computeIfAbsent(key(interaction.method, URI.create(interaction.url)),
+                k -> Collections.synchronizedList(new ArrayList<>())).add(interaction);
+    }
+
+    private String key(String method, URI uri) {
+        StringBuilder key = new StringBuilder();
+        if (matchRules.contains(MatchRule.METHOD)) {
+            key.append(method.toUpperCase(Locale.ROOT));
+        }
+        if (matchRules.contains(MatchRule.HOST)) {
+            key.append(' ').append(String.valueOf(uri.getScheme()).toLowerCase(Locale.ROOT))
+                    .append("://").append(String.valueOf(uri.getRawAuthority()).toLowerCase(Locale.ROOT));
+        }
+        if (matchRules.contains(MatchRule.PATH)) {
+            key.append(' ').append(uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath());
+        }
+        if (matchRules.contains(MatchRule.QUERY) && uri.getRawQuery() != null) {
+            // Parameter order does not matter
+            Map<String, List<String>> parameters = new TreeMap<>();
+            for (String parameter : uri.getRawQuery().split("&")) {
+                int equals = parameter.indexOf('=');
+                String name = equals < 0 ? parameter : parameter.substring(0, equals);
+                parameters.computeIfAbsent(name, k -> new ArrayList<>()).add(equals < 0 ? "" : parameter.substring(equals + 1));
+            }
+            key.append(" ?").append(parameters);
+        }
+        return key.toString();
+    }
+
+    private static String utf8(byte[] body) {
+        try {
+            return StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(body))
+                    .toString();
+        } catch (CharacterCodingException e) {
+            return null;
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * One recorded request and its response
+     */
+    public static final class Interaction {
+        private final String method;
+        private final String url;
+        private final int status;
+        private final Map<String, String> headers;
+        private final byte[] body;
+        private final long latencyMs;
+
+        public Interaction(String method, String url, int status, Map<String, String> headers, byte[] body, long latencyMs) {
+            this.method = method;
+            this.url = url;
+            this.status = status;
+            this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(headers));
+            this.body = body;
+            this.latencyMs = latencyMs;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        /**
+         * Response headers worth replaying (content type and cache validators)
+         */
+        public Map<String, String> getHeaders() {
+            return headers;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public long getLatencyMs() {
+            return latencyMs;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.automention.framework.api;
+
+import com.automention.framework.utils.RunMetrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * API Cassette Handler
+ * Serves API requests routed to the local ApiStubServer. In REPLAY mode responses come from the
+ * cassette with the configured latency; in RECORD mode requests are forwarded to the real endpoint
+ * and each new exchange is added to the cassette in memory, which is written once by save().
+ * Routed URLs carry the original scheme and host in the path: /https/host:port/original/path
+ */
+public class ApiCassetteHandler implements HttpHandler {
+
+    private static final Logger logger = LogManager.getLogger(ApiCassetteHandler.class);
+    // Not forwarded: set by the HTTP client itself, or (Accept-Encoding) would record compressed bodies
+    private static final Set<String> SKIPPED_REQUEST_HEADERS = Set.of("host", "connection", "content-length",
+            "expect", "upgrade", "keep-alive", "transfer-encoding", "te", "accept-encoding");
+    private static final List<String> RECORDED_RESPONSE_HEADERS = List.of("Content-Type", "ETag", "Last-Modified", "Cache-Control");
+
+    private final ApiCassette cassette;
+    private final ApiCassette.Mode mode;
+    private final Path file;
+    private final ApiCassette.Latency latency;
+    private final long fixedLatencyMs;
+    private final double latencyScale;
+    private final HttpClient liveClient;
+    private final Duration readTimeout;
+    private final AtomicInteger unsaved = new AtomicInteger();
+
+    public ApiCassetteHandler(ApiCassette cassette, ApiCassette.Mode mode, Path file, ApiCassette.Latency latency,
+                              long fixedLatencyMs, double latencyScale, HttpClient liveClient, Duration readTimeout) {
+        this.cassette = cassette;
+        this.mode = mode;
+        this.file = file;
+        this.latency = latency;
+        this.fixedLatencyMs = fixedLatencyMs;
+        this.latencyScale = latencyScale;
+        this.liveClient = liveClient;
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * URL on the local server that stands for an absolute endpoint URL; relative endpoints and
+     * loopback hosts (e.g. ApiStubServer stubs) are left alone
+     */
+    public static String route(String baseUrl, String endpoint) {
+        URI uri = URI.create(endpoint);
+        if (uri.getScheme() == null || uri.getRawAuthority() == null || isLoopback(uri.getHost())) {
+            return endpoint;
+        }
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        return baseUrl + "/" + uri.getScheme() + "/" + uri.getRawAuthority() + path
+                + (uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "");
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        URI target = target(exchange.getRequestURI());
+        if (target == null) {
+            respond(exchange, 400, Map.of("Content-Type", "text/plain"),
+                    ("Not a cassette URL: " + exchange.getRequestURI()).getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        String method = exchange.getRequestMethod();
+        try {
+            if (mode == ApiCassette.Mode.RECORD) {
+                record(exchange, method, target);
+            } else {
+                replay(exchange, method, target);
+            }
+        } catch (RuntimeException e) {
+            // HttpServer would drop the connection without a response, which clients retry
+            logger.error("Error handling cassette request {} {}: {}", method, target, e.getMessage(), e);
+            respond(exchange, 502, Map.of("Content-Type", "text/plain"),
+                    ("Cassette error: " + e.getMessage()).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void replay(HttpExchange exchange, String method, URI target) throws IOException {
+        ApiCassette.Interaction interaction = cassette.match(method, target);
+        if (interaction == null) {
+            RunMetrics.increment("api.cassette.unmatched");
+            logger.warn("No recorded interaction for {} {} in {}", method, target, file);
+            respond(exchange, 404, Map.of("Content-Type", "text/plain"),
+                    ("No recorded interaction for " + method + " " + target).getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        long delayMs = switch (latency) {
+            case NONE -> 0;
+            case RECORDED -> Math.round(interaction.getLatencyMs() * latencyScale);
+            case FIXED -> fixedLatencyMs;
+        };
+        if (delayMs > 0) {
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        RunMetrics.increment("api.cassette.replayed");
+        respond(exchange, interaction.getStatus(), interaction.getHeaders(), interaction.getBody());
+    }
+
+    private void record(HttpExchange exchange, String method, URI target) throws IOException {
+        byte[] requestBody = exchange.getRequestBody().readAllBytes();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(target)
+                .timeout(readTimeout)
+                .method(method, requestBody.length == 0
+                        ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(requestBody));
+        exchange.getRequestHeaders().forEach((name, values) -> {
+            if (!SKIPPED_REQUEST_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+
+        HttpResponse<byte[]> response;
+        long start = System.nanoTime();
+        try {
+            response = liveClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (IOException e) {
+            logger.error("Error recording {} {}: {}", method, target, e.getMessage(), e);
+            respond(exchange, 502, Map.of("Content-Type", "text/plain"),
+                    ("Recording failed: " + e.getMessage()).getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        long latencyMs = (System.nanoTime() - start) / 1_000_000;
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : RECORDED_RESPONSE_HEADERS) {
+            response.headers().firstValue(name).ifPresent(value -> headers.put(name, value));
+        }
+        ApiCassette.Interaction interaction = new ApiCassette.Interaction(method, target.toString(),
+                response.statusCode(), headers, response.body(), latencyMs);
+        if (cassette.record(interaction)) {
+            RunMetrics.increment("api.cassette.recorded");
+            unsaved.incrementAndGet();
+            logger.info("Recorded {} {} ({} in {} ms)", method, target, response.statusCode(), latencyMs);
+        }
+        respond(exchange, interaction.getStatus(), headers, interaction.getBody());
+    }
+
+    /**
+     * Write the cassette if anything was recorded since the last save
+     */
+    public void save() {
+        int recorded = unsaved.getAndSet(0);
+        if (recorded == 0) {
+            return;
+        }
+        try {
+            cassette.save(file);
+            logger.info("Saved API cassette {} ({} new interaction(s), {} in total)", file, recorded, cassette.size());
+        } catch (IOException e) {
+            unsaved.addAndGet(recorded);
+            logger.error("Error saving API cassette: {}", e.getMessage(), e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, Map<String, String> headers, byte[] body) throws IOException {
+        headers.forEach((name, value) -> exchange.getResponseHeaders().set(name, value));
+        boolean noBody = body.length == 0 || status == 204 || status == 304 || "HEAD".equalsIgnoreCase(exchange.getRequestMethod());
+        exchange.sendResponseHeaders(status, noBody ? -1 : body.length);
+        if (!noBody) {
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        }
+    }
+
+    private static boolean isLoopback(String host) {
+        return host != null && (host.equalsIgnoreCase("localhost") || host.startsWith("127.")
+                || host.equals("[::1]") || host.equals("::1"));
+    }
+
+    /**
+     * Original endpoint for a routed request URI, or null when the path does not carry one
+     */
+    private static URI target(URI requestUri) {
+        String path = requestUri.getRawPath();
+        String[] parts = path.split("/", 4);
+        if (parts.length < 3 || parts[1].isEmpty() || parts[2].isEmpty()) {
+            return null;
+        }
+        String rest = parts.length == 4 ? "/" + parts[3] : "/";
+        // Rest-Assured percent-encodes the ':' of host:port in the path
+        String authority = URLDecoder.decode(parts[2], StandardCharsets.UTF_8);
+        return URI.create(parts[1] + "://" + authority + rest
+                + (requestUri.getRawQuery() != null ? "?" + requestUri.getRawQuery() : ""));
+    }
+}
@@ -0,0 +1,112 @@
+package com.automention.framework.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * API Fan-Out Result
+ * Aggregated outcome of requests run concurrently by RestApiClient.fanOut, in request order,
+ * with per-request timing so slow endpoints stand out
+ */
+public class ApiFanOutResult {
+
+    private final List<Outcome> outcomes;
+    private final long wallTimeMs;
+
+    ApiFanOutResult(List<Outcome> outcomes, long wallTimeMs) {
+        this.outcomes = Collections.unmodifiableList(outcomes);
+        this.wallTimeMs = wallTimeMs;
+    }
+
+    public List<Outcome> getOutcomes() {
+        return outcomes;
+    }
+
+    /**
+     * Elapsed time for the whole fan-out, close to the slowest request rather than the sum
+     */
+    public long getWallTimeMs() {
+        return wallTimeMs;
+    }
+
+    public List<Outcome> getFailures() {
+        List<Outcome> failures = new ArrayList<>();
+        for (Outcome outcome : outcomes) {
+            if (!outcome.isSuccess()) {
+                failures.add(outcome);
+            }
+        }
+        return failures;
+    }
+
+    public List<Outcome> slowerThan(long maxMs) {
+        List<Outcome> slow = new ArrayList<>();
+        for (Outcome outcome : outcomes) {
+            if (outcome.getDurationMs() > maxMs) {
+                slow.add(outcome);
+            }
+        }
+        return slow;
+    }
+
+    /**
+     * Multi-line table of every request, used in logs and assertion messages
+     */
+    public String summary() {
+        StringBuilder summary = new StringBuilder(String.format("%d request(s) in %d ms", outcomes.size(), wallTimeMs));
+        for (Outcome outcome : outcomes) {
+            summary.append(String.format("%n  %-24s %-6s %6d ms  %s", outcome.getName(),
+                    outcome.getStatus() > 0 ? String.valueOf(outcome.getStatus()) : "-", outcome.getDurationMs(),
+                    outcome.isSuccess() ? outcome.getEndpoint() : outcome.getEndpoint() + " -> " + outcome.getError()));
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Result of one request: status, timing and the reason it failed, if it did
+     */
+    public static final class Outcome {
+        private final ApiRequest request;
+        private final int status;
+        private final long durationMs;
+        private final long bodyBytes;
+        private final String error;
+
+        Outcome(ApiRequest request, int status, long durationMs, long bodyBytes, String error) {
+            this.request = request;
+            this.status = status;
+            this.durationMs = durationMs;
+            this.bodyBytes = bodyBytes;
+            this.error = error;
+        }
+
+        public String getName() {
+            return request.getName();
+        }
+
+        public String getEndpoint() {
+            return request.getEndpoint();
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public long getDurationMs() {
+            return durationMs;
+        }
+
+        public long getBodyBytes() {
+            return bodyBytes;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.automention.framework.api;
+
+import com.automention.framework.config.ApplicationConfig;
+import com.automention.framework.utils.RunMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * API Load Generator
+ * Drives an endpoint through RestApiClient at a target arrival rate (open model: requests are
+ * started on schedule whether or not earlier ones have finished) and records latency from each
+ * request's scheduled start, so slow responses cannot hide the queueing they cause. Arrivals
+ * dropped at the in-flight cap and requests unfinished when the run ends are recorded up to the
+ * run's end, so they weigh on the percentiles instead of vanishing from them
+ */
+@Component
+public class ApiLoadGenerator {
+
+    private static final Logger logger = LogManager.getLogger(ApiLoadGenerator.class);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    // Lowest rate used for scheduling, so a ramp that starts at zero still makes progress
+    private static final double MIN_RPS = 1.0;
+
+    @Autowired
+    private RestApiClient restApiClient;
+
+    @Autowired
+    private ApplicationConfig config;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Run a load profile against an endpoint, write the JSON result file and return the result
+     */
+    public ApiLoadResult run(String name, String endpoint, LoadProfile profile) {
+        int maxInFlight = Math.max(1, config.getApiLoadMaxInFlight());
+        restApiClient.ensureConnectionCapacity(maxInFlight);
+        ExecutorService executor = RestApiClient.newRequestExecutor("api-load", maxInFlight);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        Histogram responseTime = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        Histogram serviceTime = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        // Schedule offsets (us) of dropped arrivals, and scheduled starts of requests still in flight
+        Histogram droppedAt = new Histogram(SIGNIFICANT_DIGITS);
+        Set<Long> pending = ConcurrentHashMap.newKeySet();
+        LongAdder completed = new LongAdder();
+        LongAdder errors = new LongAdder();
+        LongAdder sustained = new LongAdder();
+        long scheduled = 0;
+        long dropped = 0;
+
+        logger.info("Starting load run '{}' against {}: {}", name, endpoint, profile);
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        long end = start + profile.totalDuration().toNanos();
+        long lastStageStart = start + profile.lastStageStart().toNanos();
+        long intended = start;
+        try {
+            while (intended < end) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IllegalStateException("Load run '" + name + "' was interrupted");
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                    continue;
+                }
+                // Behind schedule (e.g. after a GC pause) the loop sends the missed arrivals at once
+                scheduled++;
+                if (inFlight.tryAcquire()) {
+                    long scheduledAt = intended;
+                    boolean lastStage = scheduledAt >= lastStageStart;
+                    pending.add(scheduledAt);
+                    executor.execute(() -> send(endpoint, scheduledAt, lastStage, inFlight, pending,
+                            responseTime, serviceTime, completed, errors, sustained));
+                } else {
+                    dropped++;
+                    droppedAt.recordValue((intended - start) / 1_000);
+                }
+                double rate = Math.max(MIN_RPS, profile.rateAt(intended - start));
+                intended += (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+            }
+
+            long drainMillis = config.getApiConnectTimeoutMillis() + config.getApiReadTimeoutMillis() + 5000L;
+            if (!inFlight.tryAcquire(maxInFlight, drainMillis, TimeUnit.MILLISECONDS)) {
+                logger.warn("Load run '{}' ended with requests still in flight after {} ms", name, drainMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for load run '" + name + "'", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Requests that never got a response count as errors, with a response time up to the run's end
+        long runEndMicros = (System.nanoTime() - start) / 1_000;
+        long unfinished = 0;
+        for (Long scheduledAt : pending) {
+            // Whoever removes the entry records it, so a request finishing right now is counted once
+            if (pending.remove(scheduledAt)) {
+                responseTime.recordValue(Math.max(1, runEndMicros - (scheduledAt - start) / 1_000));
+                unfinished++;
+            }
+        }
+        for (HistogramIterationValue value : droppedAt.recordedValues()) {
+            responseTime.recordValueWithCount(Math.max(1, runEndMicros - value.getValueIteratedTo()),
+                    value.getCountAtValueIteratedTo());
+        }
+        long finished = completed.sum();
+        double lastStageSeconds = (end - lastStageStart) / 1e9;
+        ApiLoadResult result = new ApiLoadResult(name, endpoint, profile, startedAt,
+                (System.nanoTime() - start) / 1_000_000, scheduled, finished + unfinished, errors.sum() + unfinished,
+                dropped, lastStageSeconds > 0 ? sustained.sum() / lastStageSeconds : 0, responseTime, serviceTime);
+        RunMetrics.add("api.load.requests", scheduled);
+        logger.info("Load run finished: {}", result.summary());
+
+        try {
+            Path file = result.writeTo(Paths.get(config.getApiLoadOutputPath()), objectMapper);
+            logger.info("Load result written to: {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Error writing load result: {}", e.getMessage(), e);
+        }
+        return result;
+    }
+
+    private void send(String endpoint, long scheduledAt, boolean lastStage, Semaphore inFlight, Set<Long> pending,
+                      Histogram responseTime, Histogram serviceTime,
+                      LongAdder completed, LongAdder errors, LongAdder sustained) {
+        long sentAt = System.nanoTime();
+        boolean success = false;
+        try {
+            int status = restApiClient.performGetForStatus(endpoint);
+            success = status >= 200 && status < 400;
+        } catch (IOException e) {
+            logger.debug("Load request to {} failed: {}", endpoint, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            long done = System.nanoTime();
+            if (!pending.remove(scheduledAt)) {
+                // Already counted as unfinished when the run ended
+                inFlight.release();
+                return;
+            }
+            responseTime.recordValue(Math.max(1, (done - scheduledAt) / 1_000));
+            serviceTime.recordValue(Math.max(1, (done - sentAt) / 1_000));
+            completed.increment();
+            if (!success) {
+                errors.increment();
+            } else if (lastStage) {
+                sustained.increment();
+            }
+            inFlight.release();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.automention.framework.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * API Load Result
+ * Outcome of one ApiLoadGenerator run. Response time is measured from each request's scheduled
+ * start, so queueing behind slow responses is counted (coordinated omission corrected); service
+ * time is measured from when the request was actually sent
+ */
+public class ApiLoadResult {
+
+    private final String name;
+    private final String endpoint;
+    private final LoadProfile profile;
+    private final Instant startedAt;
+    private final long durationMs;
+    private final long scheduled;
+    private final long completed;
+    private final long errors;
+    private final long dropped;
+    private final double sustainedRps;
+    private final Histogram responseTime;
+    private final Histogram serviceTime;
+
+    ApiLoadResult(String name, String endpoint, LoadProfile profile, Instant startedAt, long durationMs,
+                  long scheduled, long completed, long errors, long dropped, double sustainedRps,
+                  Histogram responseTime, Histogram serviceTime) {
+        this.name = name;
+        this.endpoint = endpoint;
+        this.profile = profile;
+        this.startedAt = startedAt;
+        this.durationMs = durationMs;
+        this.scheduled = scheduled;
+        this.completed = completed;
+        this.errors = errors;
+        this.dropped = dropped;
+        this.sustainedRps = sustainedRps;
+        this.responseTime = responseTime;
+        this.serviceTime = serviceTime;
+    }
+
+    public long getScheduled() {
+        return scheduled;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Arrivals that were never sent because max.in.flight requests were already outstanding
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Successful requests per second among those scheduled in the last stage
+     */
+    public double getSustainedRps() {
+        return sustainedRps;
+    }
+
+    public double getErrorRate() {
+        return scheduled > 0 ? (double) (errors + dropped) / scheduled : 0;
+    }
+
+    /**
+     * Corrected response time at a percentile, in milliseconds
+     */
+    public double responseTimeMs(double percentile) {
+        return responseTime.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * Service time at a percentile, in milliseconds
+     */
+    public double serviceTimeMs(double percentile) {
+        return serviceTime.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public String summary() {
+        return String.format("%s: %d scheduled, %d ok, %d error(s), %d dropped, sustained %.1f rps, "
+                        + "response p50=%.1fms p99=%.1fms max=%.1fms (service p99=%.1fms)",
+                name, scheduled, completed - errors, errors, dropped, sustainedRps,
+                responseTimeMs(50), responseTimeMs(99), responseTime.getMaxValue() / 1000.0, serviceTimeMs(99));
+    }
+
+    /**
+     * Write the result as JSON into a directory and return the file
+     */
+    public Path writeTo(Path directory, ObjectMapper objectMapper) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(name.replaceAll("[^a-zA-Z0-9_-]", "_") + "_" + startedAt.toEpochMilli() + ".json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), toDocument());
+        return file;
+    }
+
+    private Map<String, Object> toDocument() {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("name", name);
+        document.put("endpoint", endpoint);
+        document.put("startedAt", startedAt.toString());
+        document.put("durationMs", durationMs);
+        document.put("profile", profile.toString());
+        document.put("targetPeakRps", profile.peakRps());
+        document.put("sustainedRps", sustainedRps);
+        document.put("scheduled", scheduled);
+        document.put("completed", completed);
+        document.put("errors", errors);
+        document.put("dropped", dropped);
+        document.put("errorRate", getErrorRate());
+        document.put("responseTime", percentiles(responseTime));
+        document.put("serviceTime", percentiles(serviceTime));
+        return document;
+    }
+
+    private static Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        percentiles.put("count", histogram.getTotalCount());
+        percentiles.put("p50Ms", histogram.getValueAtPercentile(50) / 1000.0);
+        percentiles.put("p90Ms", histogram.getValueAtPercentile(90) / 1000.0);
+        percentiles.put("p99Ms", histogram.getValueAtPercentile(99) / 1000.0);
+        percentiles.put("p999Ms", histogram.getValueAtPercentile(99.9) / 1000.0);
+        percentiles.put("maxMs", histogram.getMaxValue() / 1000.0);
+        percentiles.put("meanMs", histogram.getMean() / 1000.0);
+        // Full histogram (microseconds), so runs can be merged or replotted with HdrHistogram tools
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        percentiles.put("histogram", Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length)));
+        return percentiles;
+    }
+}
@@ -0,0 +1,30 @@
+package com.automention.framework.api;
+
+/**
+ * API Request
+ * One named GET request in a concurrent fan-out, with the status it is expected to return
+ */
+public class ApiRequest {
+
+    private final String name;
+    private final String endpoint;
+    private final int expectedStatus;
+
+    public ApiRequest(String name, String endpoint, int expectedStatus) {
+        this.name = name;
+        this.endpoint = endpoint;
+        this.expectedStatus = expectedStatus;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public int getExpectedStatus() {
+        return expectedStatus;
+    }
+}
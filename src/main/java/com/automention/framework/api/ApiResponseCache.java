@@ -0,0 +1,174 @@
+package com.automention.framework.api;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * API Response Cache
+ * In-memory LRU cache of successful API responses, bounded by entry count and total body bytes.
+ * Entries are fresh for the configured TTL; stale entries keep their ETag / Last-Modified so
+ * they can be revalidated with a conditional request instead of being downloaded again
+ */
+public class ApiResponseCache {
+
+    private final Duration ttl;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public ApiResponseCache(Duration ttl, int maxEntries, long maxBytes) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Build a cache key from the request method, URL and headers (header names are case-insensitive)
+     */
+    public static String key(String method, String url, Map<String, String> headers) {
+        StringBuilder key = new StringBuilder(method.toUpperCase(Locale.ROOT)).append(' ').append(url);
+        if (headers != null && !headers.isEmpty()) {
+            Map<String, String> sorted = new TreeMap<>();
+            headers.forEach((name, value) -> sorted.put(name.toLowerCase(Locale.ROOT), value));
+            sorted.forEach((name, value) -> key.append('\n').append(name).append(": ").append(value));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Get an entry, fresh or stale, or null when nothing is cached for the key
+     */
+    public synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Store a 200 response unless its Cache-Control forbids it or it would not fit in the cache
+     */
+    public synchronized void put(String key, byte[] body, String eTag, String lastModified, String cacheControl) {
+        if (isNoStore(cacheControl) || body.length > maxBytes) {
+            remove(key);
+            return;
+        }
+        remove(key);
+        Entry entry = new Entry(body, eTag, lastModified, expiry(cacheControl));
+        entries.put(key, entry);
+        totalBytes += body.length;
+        evict();
+    }
+
+    /**
+     * Extend a stale entry after the server answered 304 Not Modified
+     */
+    public synchronized Entry revalidated(String key, Entry entry, String cacheControl) {
+        Entry refreshed = new Entry(entry.body, entry.eTag, entry.lastModified, expiry(cacheControl));
+        if (entries.get(key) == entry) {
+            entries.put(key, refreshed);
+        }
+        return refreshed;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void remove(String key) {
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            totalBytes -= previous.body.length;
+        }
+    }
+
+    private void evict() {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while ((entries.size() > maxEntries || totalBytes > maxBytes) && eldest.hasNext()) {
+            totalBytes -= eldest.next().body.length;
+            eldest.remove();
+        }
+    }
+
+    private long expiry(String cacheControl) {
+        long ttlMillis = ttl.toMillis();
+        Long maxAge = maxAgeSeconds(cacheControl);
+        if (maxAge != null) {
+            ttlMillis = Math.min(ttlMillis, maxAge * 1000);
+        }
+        if (cacheControl != null && cacheControl.toLowerCase(Locale.ROOT).contains("no-cache")) {
+            // Stored, but every use is revalidated
+            ttlMillis = 0;
+        }
+        return System.currentTimeMillis() + ttlMillis;
+    }
+
+    private static boolean isNoStore(String cacheControl) {
+        return cacheControl != null && cacheControl.toLowerCase(Locale.ROOT).contains("no-store");
+    }
+
+    private static Long maxAgeSeconds(String cacheControl) {
+        if (cacheControl == null) {
+            return null;
+        }
+        for (String directive : cacheControl.split(",")) {
+            String value = directive.trim().toLowerCase(Locale.ROOT);
+            if (value.startsWith("max-age=")) {
+                try {
+                    return Long.parseLong(value.substring("max-age=".length()).replace("\"", ""));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * One cached response body and its validators
+     */
+    public static final class Entry {
+        private final byte[] body;
+        private final String eTag;
+        private final String lastModified;
+        private final long expiresAt;
+
+        private Entry(byte[] body, String eTag, String lastModified, long expiresAt) {
+            this.body = body;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.expiresAt = expiresAt;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public boolean isFresh() {
+            return System.currentTimeMillis() < expiresAt;
+        }
+
+        /**
+         * True when the server gave a validator we can send back in a conditional request
+         */
+        public boolean canRevalidate() {
+            return eTag != null || lastModified != null;
+        }
+
+        /**
+         * Conditional request headers for revalidating this entry
+         */
+        public Map<String, String> conditionalHeaders() {
+            Map<String, String> headers = new LinkedHashMap<>();
+            if (eTag != null) {
+                headers.put("If-None-Match", eTag);
+            }
+            if (lastModified != null) {
+                headers.put("If-Modified-Since", lastModified);
+            }
+            return headers;
+        }
+    }
+}
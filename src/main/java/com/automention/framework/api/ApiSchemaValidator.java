@@ -0,0 +1,249 @@
+package com.automention.framework.api;
+
+import com.automention.framework.config.ApplicationConfig;
+import com.automention.framework.utils.RunMetrics;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * API Schema Validator
+ * Validates API responses against JSON Schemas. Each schema is read and compiled once, cached
+ * by path and SHA-256 of its content, and the compiled (immutable) schema is shared by all threads
+ */
+@Component
+public class ApiSchemaValidator {
+
+    private static final Logger logger = LogManager.getLogger(ApiSchemaValidator.class);
+    private static final String ROOT = "";
+
+    @Autowired
+    private RestApiClient restApiClient;
+
+    @Autowired
+    private ApplicationConfig config;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonSchemaFactory schemaFactory = JsonSchemaFactory.byDefault();
+    // Schema path -> where it was read from and the hash of its content
+    private final Map<String, SchemaFile> files = new ConcurrentHashMap<>();
+    // Content hash -> parsed schema and its compiled form per JSON pointer
+    private final Map<String, CompiledSchema> compiled = new ConcurrentHashMap<>();
+
+    /**
+     * Validate a JSON document against a schema (a path under api.schema.dir, a file path or a classpath resource)
+     */
+    public SchemaValidationResult validate(String schemaPath, String json) {
+        try {
+            return validate(schemaPath, objectMapper.readTree(json));
+        } catch (IOException e) {
+            return finish(schemaPath, 1, 1, List.of(": not valid JSON: " + e.getMessage()), System.nanoTime());
+        }
+    }
+
+    /**
+     * Validate an already parsed JSON document against a schema
+     */
+    public SchemaValidationResult validate(String schemaPath, JsonNode document) {
+        JsonSchema schema = schema(schemaPath, ROOT);
+        long start = System.nanoTime();
+        List<String> errors = new ArrayList<>();
+        boolean valid = check(schema, document, ROOT, errors, config.getApiSchemaMaxErrors());
+        return finish(schemaPath, 1, valid ? 0 : 1, errors, start);
+    }
+
+    /**
+     * Stream a top-level array field of a response and validate each element on its own against the
+     * schema's "/properties/&lt;field&gt;/items" subschema, so large arrays are never held in memory at once
+     */
+    public SchemaValidationResult validateJsonArray(String endpoint, String arrayField, String schemaPath) {
+        return validateJsonArray(endpoint, arrayField, schemaPath, "/properties/" + arrayField + "/items");
+    }
+
+    /**
+     * Stream a top-level array field of a response and validate each element against the subschema at a JSON pointer
+     */
+    public SchemaValidationResult validateJsonArray(String endpoint, String arrayField, String schemaPath, String itemPointer) {
+        JsonSchema schema = schema(schemaPath, itemPointer);
+        int maxErrors = config.getApiSchemaMaxErrors();
+        List<String> errors = new ArrayList<>();
+        long[] index = {0};
+        long[] invalid = {0};
+        long start = System.nanoTime();
+        long validated = restApiClient.streamJsonArray(endpoint, arrayField, element -> {
+            if (!check(schema, element, "/" + arrayField + "/" + index[0], errors, maxErrors)) {
+                invalid[0]++;
+            }
+            index[0]++;
+        });
+        return finish(schemaPath + "#" + itemPointer, validated, invalid[0], errors, start);
+    }
+
+    /**
+     * Compiled schema for a path, optionally narrowed to the subschema at a JSON pointer
+     */
+    private JsonSchema schema(String schemaPath, String pointer) {
+        SchemaFile file = files.compute(schemaPath, (path, cached) -> cached != null && cached.isCurrent() ? cached : load(path));
+        CompiledSchema schema = compiled.computeIfAbsent(file.hash, hash -> parse(schemaPath, file));
+        return schema.at(pointer);
+    }
+
+    private boolean check(JsonSchema schema, JsonNode instance, String location, List<String> errors, int maxErrors) {
+        try {
+            // Fast path without collecting messages; the full report is only built for failures
+            if (schema.validInstance(instance)) {
+                return true;
+            }
+            if (errors.size() < maxErrors) {
+                ProcessingReport report = schema.validate(instance, true);
+                for (ProcessingMessage message : report) {
+                    if (errors.size() >= maxErrors) {
+                        break;
+                    }
+                    String pointer = message.asJson().path("instance").path("pointer").asText("");
+                    errors.add(location + pointer + ": " + message.getMessage());
+                }
+            }
+            return false;
+        } catch (ProcessingException e) {
+            throw new IllegalStateException("JSON schema could not be applied: " + e.getMessage(), e);
+        }
+    }
+
+    private SchemaValidationResult finish(String schema, long validated, long invalid, List<String> errors, long start) {
+        long elapsed = System.nanoTime() - start;
+        RunMetrics.recordTime("api.schema.validate", elapsed);
+        if (invalid > 0) {
+            RunMetrics.add("api.schema.invalid", invalid);
+        }
+        SchemaValidationResult result = new SchemaValidationResult(schema, validated, invalid, errors, elapsed);
+        logger.debug("Schema validation {}", result.summary());
+        return result;
+    }
+
+    private SchemaFile load(String schemaPath) {
+        try {
+            Path file = Paths.get(schemaPath);
+            if (!Files.isRegularFile(file)) {
+                file = Paths.get(config.getApiSchemaDir()).resolve(schemaPath);
+            }
+            if (Files.isRegularFile(file)) {
+                byte[] content = Files.readAllBytes(file);
+                return new SchemaFile(file, Files.getLastModifiedTime(file).toMillis(), content.length, content);
+            }
+            String resource = schemaPath.startsWith("/") ? schemaPath.substring(1) : schemaPath;
+            try (InputStream stream = getClass().getClassLoader().getResourceAsStream(resource)) {
+                if (stream == null) {
+                    throw new IllegalArgumentException("JSON schema not found: " + schemaPath
+                            + " (looked in " + config.getApiSchemaDir() + " and on the classpath)");
+                }
+                byte[] content = stream.readAllBytes();
+                return new SchemaFile(null, 0, content.length, content);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading JSON schema " + schemaPath, e);
+        }
+    }
+
+    private CompiledSchema parse(String schemaPath, SchemaFile file) {
+        long start = System.nanoTime();
+        try {
+            JsonNode root = objectMapper.readTree(file.content);
+            ProcessingReport syntax = schemaFactory.getSyntaxValidator().validateSchema(root);
+            if (!syntax.isSuccess()) {
+                throw new IllegalStateException("Invalid JSON schema " + schemaPath + ": " + syntax);
+            }
+            CompiledSchema schema = new CompiledSchema(root);
+            RunMetrics.increment("api.schema.compiled");
+            logger.info("Compiled JSON schema {} (sha256 {}) in {} ms", schemaPath, file.hash.substring(0, 12),
+                    (System.nanoTime() - start) / 1_000_000);
+            return schema;
+        } catch (IOException e) {
+            throw new UncheckedIOException("JSON schema " + schemaPath + " is not valid JSON", e);
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Where a schema was read from; file-based schemas are re-read when their size or modification time changes
+     */
+    private static final class SchemaFile {
+        private final Path path;
+        private final long lastModified;
+        private final long size;
+        private final String hash;
+        private final byte[] content;
+
+        private SchemaFile(Path path, long lastModified, long size, byte[] content) {
+            this.path = path;
+            this.lastModified = lastModified;
+            this.size = size;
+            this.hash = sha256(content);
+            this.content = content;
+        }
+
+        private boolean isCurrent() {
+            if (path == null) {
+                return true;
+            }
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                return attributes.size() == size && attributes.lastModifiedTime().toMillis() == lastModified;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Parsed schema with its compiled validators, one per JSON pointer in use
+     */
+    private final class CompiledSchema {
+        private final JsonNode root;
+        private final Map<String, JsonSchema> byPointer = new ConcurrentHashMap<>();
+
+        private CompiledSchema(JsonNode root) {
+            this.root = root;
+        }
+
+        private JsonSchema at(String pointer) {
+            return byPointer.computeIfAbsent(pointer, ptr -> {
+                try {
+                    return ptr.isEmpty() ? schemaFactory.getJsonSchema(root) : schemaFactory.getJsonSchema(root, ptr);
+                } catch (ProcessingException e) {
+                    throw new IllegalStateException("Cannot compile JSON schema at '" + ptr + "': " + e.getMessage(), e);
+                }
+            });
+        }
+    }
+}
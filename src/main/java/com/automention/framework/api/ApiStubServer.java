@@ -0,0 +1,139 @@
+package com.automention.framework.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * API Stub Server
+ * Embedded HTTP server on the loopback interface that answers configured paths with canned
+ * responses and an optional fixed latency, so API steps and load runs can be exercised locally;
+ * other paths go to an optional fallback handler
+ */
+public class ApiStubServer implements Closeable {
+
+    private static final Logger logger = LogManager.getLogger(ApiStubServer.class);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, StubResponse> responses = new ConcurrentHashMap<>();
+    private final LongAdder requestCount = new LongAdder();
+    private volatile HttpHandler fallback;
+
+    private ApiStubServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Start a stub on the given port (0 picks a free one)
+     */
+    public static ApiStubServer start(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "api-stub-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ApiStubServer stub = new ApiStubServer(server, executor);
+        server.createContext("/", stub::handle);
+        server.setExecutor(executor);
+        server.start();
+        logger.info("API stub listening on {}", stub.baseUrl());
+        return stub;
+    }
+
+    /**
+     * Answer GET requests for a path with a fixed response after the given latency
+     */
+    public ApiStubServer respond(String path, int status, byte[] body, String contentType, Duration latency) {
+        responses.put(path, new StubResponse(status, body, contentType, latency));
+        return this;
+    }
+
+    /**
+     * Handle requests for paths without a canned response (instead of answering 404)
+     */
+    public ApiStubServer fallback(HttpHandler handler) {
+        this.fallback = handler;
+        return this;
+    }
+
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public String url(String path) {
+        return baseUrl() + path;
+    }
+
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        logger.info("API stub stopped after {} request(s)", getRequestCount());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.increment();
+        try (exchange) {
+            StubResponse response = responses.get(exchange.getRequestURI().getPath());
+            if (response == null) {
+                HttpHandler handler = fallback;
+                if (handler != null) {
+                    handler.handle(exchange);
+                } else {
+                    exchange.sendResponseHeaders(404, -1);
+                }
+                return;
+            }
+            if (!response.latency.isZero()) {
+                try {
+                    Thread.sleep(response.latency.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            exchange.getResponseHeaders().set("Content-Type", response.contentType);
+            exchange.sendResponseHeaders(response.status, response.body.length == 0 ? -1 : response.body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(response.body);
+            }
+        }
+    }
+
+    private static final class StubResponse {
+        private final int status;
+        private final byte[] body;
+        private final String contentType;
+        private final Duration latency;
+
+        private StubResponse(int status, byte[] body, String contentType, Duration latency) {
+            this.status = status;
+            this.body = body;
+            this.contentType = contentType;
+            this.latency = latency;
+        }
+    }
+}
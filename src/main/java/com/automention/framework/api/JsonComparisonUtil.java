@@ -1,11 +1,13 @@
 package com.automention.framework.api;
 
+import com.automention.framework.config.ApplicationConfig;
+import com.automention.framework.utils.RunMetrics;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.skyscreamer.jsonassert.JSONAssert;
-import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PostConstruct;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -13,9 +15,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 
 /**
- * JSON Comparison Utility using SkyScreamer
+ * JSON Comparison Utility using JsonDiffEngine
  * Compares JSON responses and identifies differences
  */
 @Component
@@ -24,6 +27,19 @@ public class JsonComparisonUtil {
     private static final Logger logger = LogManager.getLogger(JsonComparisonUtil.class);
     private static final String COMPARISON_OUTPUT_DIR = "target/api-comparison/";
 
+    @Autowired
+    private ApplicationConfig config;
+
+    private JsonDiffEngine diffEngine;
+
+    @PostConstruct
+    public void init() {
+        diffEngine = new JsonDiffEngine(Arrays.stream(config.getApiDiffIdentityKeys().split(","))
+                .map(String::trim)
+                .filter(key -> !key.isEmpty())
+                .toList(), config.getApiDiffMaxDifferences());
+    }
+
     /**
      * Compare two JSON strings and save differences to file
      */
@@ -44,12 +60,12 @@ public class JsonComparisonUtil {
             boolean comparisonPassed = true;
             String comparisonMessage = "";
 
-            try {
-                JSONAssert.assertEquals(expectedJson, actualJson, JSONCompareMode.STRICT);
+            JsonDiffResult result = diff(expectedJson, actualJson, JsonDiffEngine.Mode.STRICT);
+            if (result.isEqual()) {
                 comparisonMessage = "JSONs are identical";
-            } catch (AssertionError e) {
+            } else {
                 comparisonPassed = false;
-                comparisonMessage = e.getMessage();
+                comparisonMessage = result.message();
             }
 
             // Write comparison results to file
@@ -89,13 +105,14 @@ public class JsonComparisonUtil {
      */
     public boolean compareJsonLenient(String expectedJson, String actualJson) {
         try {
-            JSONAssert.assertEquals(expectedJson, actualJson, JSONCompareMode.LENIENT);
-            logger.info("JSON comparison passed (lenient mode)");
-            return true;
-        } catch (AssertionError e) {
-            logger.warn("JSON comparison failed (lenient mode): {}", e.getMessage());
+            JsonDiffResult result = diff(expectedJson, actualJson, JsonDiffEngine.Mode.LENIENT);
+            if (result.isEqual()) {
+                logger.info("JSON comparison passed (lenient mode)");
+                return true;
+            }
+            logger.warn("JSON comparison failed (lenient mode): {}", result.message());
             return false;
-        } catch (org.json.JSONException e) {
+        } catch (IOException e) {
             logger.error("JSON parsing error (lenient mode): {}", e.getMessage());
             return false;
         }
@@ -106,15 +123,23 @@ public class JsonComparisonUtil {
      */
     public boolean compareJsonStrict(String expectedJson, String actualJson) {
         try {
-            JSONAssert.assertEquals(expectedJson, actualJson, JSONCompareMode.STRICT);
-            logger.info("JSON comparison passed (strict mode)");
-            return true;
-        } catch (AssertionError e) {
-            logger.warn("JSON comparison failed (strict mode): {}", e.getMessage());
+            JsonDiffResult result = diff(expectedJson, actualJson, JsonDiffEngine.Mode.STRICT);
+            if (result.isEqual()) {
+                logger.info("JSON comparison passed (strict mode)");
+                return true;
+            }
+            logger.warn("JSON comparison failed (strict mode): {}", result.message());
             return false;
-        } catch (org.json.JSONException e) {
+        } catch (IOException e) {
             logger.error("JSON parsing error (strict mode): {}", e.getMessage());
             return false;
         }
     }
+
+    private JsonDiffResult diff(String expectedJson, String actualJson, JsonDiffEngine.Mode mode) throws IOException {
+        long start = System.nanoTime();
+        JsonDiffResult result = diffEngine.compare(expectedJson, actualJson, mode);
+        RunMetrics.recordTime("api.json.diff", System.nanoTime() - start);
+        return result;
+    }
 }
@@ -0,0 +1,501 @@
+package com.automention.framework.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON Diff Engine
+ * Compares JSON documents parsed into Jackson trees, with the JSONAssert STRICT and LENIENT
+ * semantics. Unordered arrays are matched in linear time: objects by an identity key (configured,
+ * or a field whose values are unique in the expected array), scalars as a multiset and anything
+ * else by a fingerprint that ignores fields missing from the expected element, falling back to
+ * pairwise comparison only for elements of shapes past the first 16.
+ * Difference collection stops at maxDifferences
+ */
+public class JsonDiffEngine {
+
+    /**
+     * STRICT: no extra fields, array order matters. LENIENT: extra fields in the actual document
+     * are allowed and array order is ignored (array lengths must still match)
+     */
+    public enum Mode {
+        STRICT,
+        LENIENT
+    }
+
+    // Expected element shapes indexed per array; elements of further shapes are compared pairwise
+    private static final int MAX_SHAPES = 16;
+    private static final long OBJECT_SEED = 0x9E3779B97F4A7C15L;
+    private static final long ARRAY_SEED = 0xC2B2AE3D27D4EB4FL;
+    private static final long SCALAR_SEED = 0x165667B19E3779F9L;
+    private static final long CONTAINER_ELEMENT = 0x27D4EB2F165667C5L;
+    private static final long MISSING_FIELD_FINGERPRINT = 0x85EBCA77C2B2AE63L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> identityKeys;
+    private final int maxDifferences;
+
+    public JsonDiffEngine(List<String> identityKeys, int maxDifferences) {
+        this.identityKeys = List.copyOf(identityKeys);
+        this.maxDifferences = Math.max(1, maxDifferences);
+    }
+
+    public JsonDiffResult compare(String expectedJson, String actualJson, Mode mode) throws IOException {
+        return compare(objectMapper.readTree(expectedJson), objectMapper.readTree(actualJson), mode);
+    }
+
+    public JsonDiffResult compare(JsonNode expected, JsonNode actual, Mode mode) {
+        Differences differences = new Differences(maxDifferences);
+        compareValues(Path.ROOT, expected, actual, mode, differences);
+        return new JsonDiffResult(differences.list, differences.isFull());
+    }
+
+    /**
+     * True when the documents match, stopping at the first difference
+     */
+    public boolean matches(JsonNode expected, JsonNode actual, Mode mode) {
+        Differences probe = new Differences(0);
+        compareValues(Path.ROOT, expected, actual, mode, probe);
+        return !probe.found;
+    }
+
+    private void compareValues(Path path, JsonNode expected, JsonNode actual, Mode mode, Differences differences) {
+        if (expected.isContainerNode() || actual.isContainerNode()) {
+            if (expected.isObject() && actual.isObject()) {
+                compareObjects(path, expected, actual, mode, differences);
+            } else if (expected.isArray() && actual.isArray()) {
+                compareArrays(path, expected, actual, mode, differences);
+            } else {
+                differences.add(JsonDifference.Type.TYPE_MISMATCH, path, describe(expected), describe(actual));
+            }
+        } else if (expected.isNumber() && actual.isNumber()) {
+            if (!sameNumber(expected, actual)) {
+                differences.add(JsonDifference.Type.VALUE_MISMATCH, path, expected.toString(), actual.toString());
+            }
+        } else if (!expected.equals(actual)) {
+            differences.add(JsonDifference.Type.VALUE_MISMATCH, path, expected.toString(), actual.toString());
+        }
+    }
+
+    private void compareObjects(Path path, JsonNode expected, JsonNode actual, Mode mode, Differences differences) {
+        Iterator<Map.Entry<String, JsonNode>> fields = expected.fields();
+        while (fields.hasNext() && !differences.isFull()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode actualValue = actual.get(field.getKey());
+            if (actualValue == null) {
+                differences.add(JsonDifference.Type.MISSING_FIELD, path.field(field.getKey()), field.getValue().toString(), null);
+            } else {
+                compareValues(path.field(field.getKey()), field.getValue(), actualValue, mode, differences);
+            }
+        }
+        if (mode == Mode.STRICT) {
+            Iterator<Map.Entry<String, JsonNode>> actualFields = actual.fields();
+            while (actualFields.hasNext() && !differences.isFull()) {
+                Map.Entry<String, JsonNode> field = actualFields.next();
+                if (!expected.has(field.getKey())) {
+                    differences.add(JsonDifference.Type.UNEXPECTED_FIELD, path.field(field.getKey()), null, field.getValue().toString());
+                }
+            }
+        }
+    }
+
+    private void compareArrays(Path path, JsonNode expected, JsonNode actual, Mode mode, Differences differences) {
+        if (expected.size() != actual.size()) {
+            differences.add(JsonDifference.Type.ARRAY_LENGTH, path,
+                    String.valueOf(expected.size()), String.valueOf(actual.size()));
+            return;
+        }
+        if (mode == Mode.STRICT) {
+            for (int i = 0; i < expected.size() && !differences.isFull(); i++) {
+                compareValues(path.index(i), expected.get(i), actual.get(i), mode, differences);
+            }
+            return;
+        }
+        if (allScalars(expected)) {
+            compareScalarArrays(path, expected, actual, differences);
+            return;
+        }
+        String key = allObjects(expected) ? identityKey(expected) : null;
+        if (key != null) {
+            compareArraysByKey(path, key, expected, actual, mode, differences);
+        } else {
+            compareArraysByFingerprint(path, expected, actual, mode, differences);
+        }
+    }
+
+    /**
+     * Scalars compared as a multiset: each expected value must be present as often as expected
+     */
+    private void compareScalarArrays(Path path, JsonNode expected, JsonNode actual, Differences differences) {
+        Map<Object, Integer> remaining = new HashMap<>();
+        for (JsonNode element : actual) {
+            remaining.merge(scalarKey(element), 1, Integer::sum);
+        }
+        for (JsonNode element : expected) {
+            if (differences.isFull()) {
+                return;
+            }
+            Object key = scalarKey(element);
+            Integer count = remaining.get(key);
+            if (count == null) {
+                differences.add(JsonDifference.Type.MISSING_ELEMENT, path.any(), element.toString(), null);
+            } else if (count == 1) {
+                remaining.remove(key);
+            } else {
+                remaining.put(key, count - 1);
+            }
+        }
+        for (JsonNode element : actual) {
+            if (differences.isFull()) {
+                return;
+            }
+            Object key = scalarKey(element);
+            Integer count = remaining.get(key);
+            if (count != null) {
+                differences.add(JsonDifference.Type.UNEXPECTED_ELEMENT, path.any(), null, element.toString());
+                if (count == 1) {
+                    remaining.remove(key);
+                } else {
+                    remaining.put(key, count - 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Objects paired through a hash lookup on the identity key, then compared field by field
+     */
+    private void compareArraysByKey(Path path, String key, JsonNode expected, JsonNode actual, Mode mode,
+                                    Differences differences) {
+        Map<Object, Integer> actualIndex = new HashMap<>(actual.size() * 4 / 3 + 1);
+        for (int i = 0; i < actual.size(); i++) {
+            JsonNode value = actual.get(i).get(key);
+            if (value != null && value.isValueNode()) {
+                actualIndex.putIfAbsent(scalarKey(value), i);
+            }
+        }
+        boolean[] matched = new boolean[actual.size()];
+        for (JsonNode element : expected) {
+            if (differences.isFull()) {
+                return;
+            }
+            JsonNode value = element.get(key);
+            Path elementPath = path.keyed(key, value.asText());
+            Integer index = actualIndex.remove(scalarKey(value));
+            if (index == null) {
+                differences.add(JsonDifference.Type.MISSING_ELEMENT, elementPath, element.toString(), null);
+            } else {
+                matched[index] = true;
+                compareValues(elementPath, element, actual.get(index), mode, differences);
+            }
+        }
+        reportUnmatched(path, actual, matched, differences);
+    }
+
+    /**
+     * Elements paired by fingerprint (verified, since fingerprints can collide); elements of shapes
+     * past the index cap are compared pairwise, as JSONAssert does for every element. Expected
+     * elements are matched in order, each to the first unmatched actual element that matches it,
+     * so pairings are the ones JSONAssert makes. Actual elements may carry extra fields, so they
+     * are fingerprinted over the fields of each expected element shape
+     */
+    private void compareArraysByFingerprint(Path path, JsonNode expected, JsonNode actual, Mode mode,
+                                            Differences differences) {
+        Map<Long, Map<Long, ArrayDeque<Integer>>> candidatesByShape = new HashMap<>();
+        boolean[] matched = new boolean[actual.size()];
+        for (JsonNode element : expected) {
+            if (differences.isFull()) {
+                return;
+            }
+            long shape = shape(element);
+            Map<Long, ArrayDeque<Integer>> candidates = candidatesByShape.get(shape);
+            if (candidates == null && candidatesByShape.size() < MAX_SHAPES) {
+                candidates = new HashMap<>();
+                for (int i = 0; i < actual.size(); i++) {
+                    candidates.computeIfAbsent(fingerprint(actual.get(i), element), k -> new ArrayDeque<>()).add(i);
+                }
+                candidatesByShape.put(shape, candidates);
+            }
+            int index = candidates != null
+                    ? firstIndexedMatch(element, candidates.get(fingerprint(element, element)), actual, matched, mode)
+                    : firstMatch(element, actual, matched, mode);
+            if (index >= 0) {
+                matched[index] = true;
+            } else {
+                differences.add(JsonDifference.Type.MISSING_ELEMENT, path.any(), element.toString(), null);
+            }
+        }
+        reportUnmatched(path, actual, matched, differences);
+    }
+
+    /**
+     * First unmatched candidate (candidates are in actual order) that matches element, or -1; a
+     * matching element always has the expected fingerprint, so there is no match outside them
+     */
+    private int firstIndexedMatch(JsonNode element, ArrayDeque<Integer> candidates, JsonNode actual,
+                                  boolean[] matched, Mode mode) {
+        if (candidates == null) {
+            return -1;
+        }
+        for (Iterator<Integer> it = candidates.iterator(); it.hasNext(); ) {
+            int candidate = it.next();
+            if (matched[candidate]) {
+                // Taken through the index of another shape
+                it.remove();
+            } else if (matches(element, actual.get(candidate), mode)) {
+                it.remove();
+                return candidate;
+            }
+        }
+        return -1;
+    }
+
+    private int firstMatch(JsonNode element, JsonNode actual, boolean[] matched, Mode mode) {
+        for (int i = 0; i < actual.size(); i++) {
+            if (!matched[i] && matches(element, actual.get(i), mode)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void reportUnmatched(Path path, JsonNode actual, boolean[] matched, Differences differences) {
+        for (int i = 0; i < matched.length && !differences.isFull(); i++) {
+            if (!matched[i]) {
+                differences.add(JsonDifference.Type.UNEXPECTED_ELEMENT, path.any(), null, actual.get(i).toString());
+            }
+        }
+    }
+
+    /**
+     * First configured key, or else field of the first element, whose values are scalars present
+     * and unique in every expected element; null when there is none
+     */
+    private String identityKey(JsonNode expected) {
+        for (String key : identityKeys) {
+            if (isUniqueKey(expected, key)) {
+                return key;
+            }
+        }
+        if (expected.size() > 0) {
+            Iterator<String> names = expected.get(0).fieldNames();
+            while (names.hasNext()) {
+                String key = names.next();
+                if (!identityKeys.contains(key) && isUniqueKey(expected, key)) {
+                    return key;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isUniqueKey(JsonNode elements, String key) {
+        Map<Object, Boolean> seen = new HashMap<>(elements.size() * 4 / 3 + 1);
+        for (JsonNode element : elements) {
+            JsonNode value = element.get(key);
+            if (value == null || !value.isValueNode() || value.isNull() || seen.put(scalarKey(value), Boolean.TRUE) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean allScalars(JsonNode array) {
+        for (JsonNode element : array) {
+            if (element.isContainerNode()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean allObjects(JsonNode array) {
+        for (JsonNode element : array) {
+            if (!element.isObject()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hash of an element's field names (nested objects included); elements with the same shape
+     * fingerprint actual elements the same way
+     */
+    private static long shape(JsonNode node) {
+        if (!node.isObject()) {
+            return node.isArray() ? ARRAY_SEED : SCALAR_SEED;
+        }
+        long hash = OBJECT_SEED;
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            hash += mix(field.getKey().hashCode() * 31L + shape(field.getValue()));
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Hash of a subtree over the fields of template, so fields the template lacks are ignored.
+     * Field order and array order don't count; arrays hash their size and scalar elements only.
+     * A node that matches template in LENIENT mode always has the template's own fingerprint
+     */
+    private static long fingerprint(JsonNode node, JsonNode template) {
+        if (template.isObject()) {
+            if (!node.isObject()) {
+                return mix(node.getNodeType().ordinal());
+            }
+            long hash = OBJECT_SEED;
+            Iterator<Map.Entry<String, JsonNode>> fields = template.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                JsonNode value = node.get(field.getKey());
+                if (value == null) {
+                    return MISSING_FIELD_FINGERPRINT;
+                }
+                hash += mix(field.getKey().hashCode() * 31L + fingerprint(value, field.getValue()));
+            }
+            return mix(hash);
+        }
+        if (template.isArray()) {
+            if (!node.isArray()) {
+                return mix(node.getNodeType().ordinal());
+            }
+            long hash = ARRAY_SEED + node.size();
+            for (JsonNode element : node) {
+                hash += element.isContainerNode() ? CONTAINER_ELEMENT : mix(scalarKey(element).hashCode() * 31L + (element.isTextual() ? 1 : 0));
+            }
+            return mix(hash);
+        }
+        if (node.isContainerNode()) {
+            return mix(node.getNodeType().ordinal());
+        }
+        return mix(scalarKey(node).hashCode() * 31L + (node.isTextual() ? 1 : 0));
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+
+    /**
+     * Value used to compare and hash scalars: equal numbers map to the same key whatever their
+     * representation (1 and 1.0), and text never equals a number; containers are their own key
+     */
+    private static Object scalarKey(JsonNode node) {
+        if (node.isNumber()) {
+            if (node.canConvertToExactIntegral() && node.canConvertToLong()) {
+                return node.longValue();
+            }
+            return node.doubleValue();
+        }
+        if (node.isTextual()) {
+            return node.textValue();
+        }
+        if (node.isBoolean()) {
+            return node.booleanValue();
+        }
+        return node.isContainerNode() ? node : NullNode.getInstance();
+    }
+
+    private static boolean sameNumber(JsonNode expected, JsonNode actual) {
+        if (expected.canConvertToExactIntegral() && actual.canConvertToExactIntegral()
+                && expected.canConvertToLong() && actual.canConvertToLong()) {
+            return expected.longValue() == actual.longValue();
+        }
+        return expected.doubleValue() == actual.doubleValue();
+    }
+
+    private static String describe(JsonNode node) {
+        if (node.isObject()) {
+            return "a JSON object";
+        }
+        return node.isArray() ? "a JSON array" : node.toString();
+    }
+
+    /**
+     * Collected differences; full once the limit is reached, which stops the comparison
+     */
+    private static final class Differences {
+        private final int limit;
+        private final List<JsonDifference> list = new ArrayList<>();
+        private boolean found;
+
+        private Differences(int limit) {
+            this.limit = limit;
+        }
+
+        private void add(JsonDifference.Type type, Path path, String expected, String actual) {
+            found = true;
+            if (list.size() < limit) {
+                list.add(new JsonDifference(type, path.render(), expected, actual));
+            }
+        }
+
+        private boolean isFull() {
+            return found && list.size() >= limit;
+        }
+    }
+
+    /**
+     * Location in the document, rendered to text only when a difference is reported
+     */
+    private static final class Path {
+        private static final Path ROOT = new Path(null, null, -1, null);
+        private static final int ANY_ELEMENT = -2;
+
+        private final Path parent;
+        private final String name;
+        private final int index;
+        private final String keyValue;
+
+        private Path(Path parent, String name, int index, String keyValue) {
+            this.parent = parent;
+            this.name = name;
+            this.index = index;
+            this.keyValue = keyValue;
+        }
+
+        private Path field(String field) {
+            return new Path(this, field, -1, null);
+        }
+
+        private Path index(int i) {
+            return new Path(this, null, i, null);
+        }
+
+        private Path keyed(String key, String value) {
+            return new Path(this, key, -1, value);
+        }
+
+        private Path any() {
+            return new Path(this, null, ANY_ELEMENT, null);
+        }
+
+        private String render() {
+            if (parent == null) {
+                return "";
+            }
+            String prefix = parent.render();
+            if (keyValue != null) {
+                return prefix + "[" + name + "=" + keyValue + "]";
+            }
+            if (name != null) {
+                return prefix.isEmpty() ? name : prefix + "." + name;
+            }
+            return index == ANY_ELEMENT ? prefix + "[]" : prefix + "[" + index + "]";
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.automention.framework.api;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * JSON Diff Result
+ * Differences found by JsonDiffEngine. Collection stops at the configured maximum, in which case
+ * the result is marked truncated and the documents may differ in more places
+ */
+public class JsonDiffResult {
+
+    private final List<JsonDifference> differences;
+    private final boolean truncated;
+
+    JsonDiffResult(List<JsonDifference> differences, boolean truncated) {
+        this.differences = Collections.unmodifiableList(differences);
+        this.truncated = truncated;
+    }
+
+    public boolean isEqual() {
+        return differences.isEmpty();
+    }
+
+    public List<JsonDifference> getDifferences() {
+        return differences;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * All difference messages, one block per difference
+     */
+    public String message() {
+        String message = differences.stream().map(JsonDifference::message).collect(Collectors.joining("\n ; "));
+        return truncated ? message + "\n ; ... (stopped after " + differences.size() + " differences)" : message;
+    }
+}
@@ -0,0 +1,76 @@
+package com.automention.framework.api;
+
+/**
+ * JSON Difference
+ * One difference found by JsonDiffEngine: where it is (e.g. "products[id=3].price"), what kind it
+ * is and the expected / actual values, shortened so a large subtree never ends up in a report whole
+ */
+public class JsonDifference {
+
+    private static final int MAX_VALUE_LENGTH = 200;
+
+    /**
+     * Kind of difference
+     */
+    public enum Type {
+        VALUE_MISMATCH,
+        TYPE_MISMATCH,
+        MISSING_FIELD,
+        UNEXPECTED_FIELD,
+        ARRAY_LENGTH,
+        MISSING_ELEMENT,
+        UNEXPECTED_ELEMENT
+    }
+
+    private final Type type;
+    private final String path;
+    private final String expected;
+    private final String actual;
+
+    JsonDifference(Type type, String path, String expected, String actual) {
+        this.type = type;
+        this.path = path.isEmpty() ? "$" : path;
+        this.expected = shorten(expected);
+        this.actual = shorten(actual);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getExpected() {
+        return expected;
+    }
+
+    public String getActual() {
+        return actual;
+    }
+
+    /**
+     * Description in the same layout as JSONAssert failure messages
+     */
+    public String message() {
+        return switch (type) {
+            case VALUE_MISMATCH, TYPE_MISMATCH -> path + "\nExpected: " + expected + "\n     got: " + actual;
+            case MISSING_FIELD, MISSING_ELEMENT -> path + "\nExpected: " + expected + "\n     but none found";
+            case UNEXPECTED_FIELD, UNEXPECTED_ELEMENT -> path + "\nUnexpected: " + actual;
+            case ARRAY_LENGTH -> path + "[]: Expected " + expected + " values but got " + actual;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return message();
+    }
+
+    private static String shorten(String value) {
+        if (value == null || value.length() <= MAX_VALUE_LENGTH) {
+            return value;
+        }
+        return value.substring(0, MAX_VALUE_LENGTH) + "...(" + value.length() + " chars)";
+    }
+}
@@ -0,0 +1,123 @@
+package com.automention.framework.api;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Load Profile
+ * Target arrival rate over time as a list of stages; each stage moves linearly from the previous
+ * stage's rate to its own, so a stage with the same rate as the one before holds it steady
+ */
+public class LoadProfile {
+
+    private final List<Stage> stages = new ArrayList<>();
+
+    /**
+     * Ramp from zero to the target rate, then hold it
+     */
+    public static LoadProfile rampAndHold(double targetRps, Duration rampUp, Duration hold) {
+        LoadProfile profile = new LoadProfile();
+        if (!rampUp.isZero()) {
+            profile.stage(rampUp, targetRps);
+        } else {
+            profile.stages.add(new Stage(Duration.ZERO, targetRps, targetRps));
+        }
+        return profile.stage(hold, targetRps);
+    }
+
+    /**
+     * Add a stage that ends at the given rate
+     */
+    public LoadProfile stage(Duration duration, double endRps) {
+        double startRps = stages.isEmpty() ? 0 : stages.get(stages.size() - 1).endRps;
+        stages.add(new Stage(duration, startRps, endRps));
+        return this;
+    }
+
+    public List<Stage> getStages() {
+        return Collections.unmodifiableList(stages);
+    }
+
+    public Duration totalDuration() {
+        Duration total = Duration.ZERO;
+        for (Stage stage : stages) {
+            total = total.plus(stage.duration);
+        }
+        return total;
+    }
+
+    /**
+     * Offset from the start of the run at which the last stage begins
+     */
+    public Duration lastStageStart() {
+        return stages.isEmpty() ? Duration.ZERO : totalDuration().minus(stages.get(stages.size() - 1).duration);
+    }
+
+    public double peakRps() {
+        double peak = 0;
+        for (Stage stage : stages) {
+            peak = Math.max(peak, Math.max(stage.startRps, stage.endRps));
+        }
+        return peak;
+    }
+
+    /**
+     * Target rate at a point in the run
+     */
+    public double rateAt(long elapsedNanos) {
+        long stageStart = 0;
+        for (Stage stage : stages) {
+            long length = stage.duration.toNanos();
+            if (elapsedNanos < stageStart + length) {
+                double progress = (double) (elapsedNanos - stageStart) / length;
+                return stage.startRps + (stage.endRps - stage.startRps) * progress;
+            }
+            stageStart += length;
+        }
+        return stages.isEmpty() ? 0 : stages.get(stages.size() - 1).endRps;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder();
+        for (Stage stage : stages) {
+            if (stage.duration.isZero()) {
+                continue;
+            }
+            if (description.length() > 0) {
+                description.append(", ");
+            }
+            description.append(String.format("%ds %.0f->%.0f rps", stage.duration.toSeconds(), stage.startRps, stage.endRps));
+        }
+        return description.toString();
+    }
+
+    /**
+     * One stage: its length and the rates it starts and ends at
+     */
+    public static final class Stage {
+        private final Duration duration;
+        private final double startRps;
+        private final double endRps;
+
+        private Stage(Duration duration, double startRps, double endRps) {
+            this.duration = duration;
+            this.startRps = startRps;
+            this.endRps = endRps;
+        }
+
+        public Duration getDuration() {
+            return duration;
+        }
+
+        public double getStartRps() {
+            return startRps;
+        }
+
+        public double getEndRps() {
+            return endRps;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.automention.framework.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Response Body Reader
+ * Consumes a response body as a stream and returns whatever it parsed from it
+ */
+@FunctionalInterface
+public interface ResponseBodyReader<T> {
+
+    T read(InputStream body) throws IOException;
+}
@@ -0,0 +1,134 @@
+package com.automention.framework.api;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Response Body Tap
+ * Passes a response body through while counting its size, hashing it and keeping a short
+ * prefix, so bodies can be logged in bounded space without reading them into a String
+ */
+public class ResponseBodyTap extends FilterInputStream {
+
+    private final MessageDigest digest = newDigest();
+    private final byte[] preview;
+    private int previewLength;
+    private long size;
+    private boolean closed;
+
+    public ResponseBodyTap(InputStream body, int previewBytes) {
+        super(body);
+        this.preview = new byte[Math.max(0, previewBytes)];
+    }
+
+    /**
+     * Summarize a body that is already in memory
+     */
+    public static String describe(byte[] body, int previewBytes) {
+        ResponseBodyTap tap = new ResponseBodyTap(InputStream.nullInputStream(), previewBytes);
+        tap.tap(body, 0, body.length);
+        return tap.summary();
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = super.read();
+        if (value >= 0) {
+            tap(new byte[]{(byte) value}, 0, 1);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            tap(buffer, offset, read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // Route skips through read() so the size and hash still cover the whole body
+        byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+            if (read < 0) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    /**
+     * Read whatever is left before closing, so the size and hash cover the whole body and a pooled
+     * connection can be reused; safe to call more than once
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            skip(Long.MAX_VALUE);
+        } finally {
+            super.close();
+        }
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * Bytes read so far
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * One-line description: size, SHA-256 of the bytes read and the (possibly truncated) prefix
+     */
+    public String summary() {
+        String text = new String(preview, 0, previewLength, StandardCharsets.UTF_8);
+        String sha256 = HexFormat.of().formatHex(digestSoFar().digest());
+        return String.format("%d bytes, sha256=%s: %s%s", size, sha256, text, size > previewLength ? "..." : "");
+    }
+
+    private void tap(byte[] buffer, int offset, int length) {
+        digest.update(buffer, offset, length);
+        int copy = Math.min(length, preview.length - previewLength);
+        if (copy > 0) {
+            System.arraycopy(buffer, offset, preview, previewLength, copy);
+            previewLength += copy;
+        }
+        size += length;
+    }
+
+    private MessageDigest digestSoFar() {
+        try {
+            return (MessageDigest) digest.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -1,45 +1,233 @@
 package com.automention.framework.api;
 
 import com.automention.framework.config.ApplicationConfig;
-import io.restassured.RestAssured;
+import com.automention.framework.utils.RunMetrics;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509ExtendedTrustManager;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.lang.reflect.Method;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
 import static io.restassured.RestAssured.given;
 
 /**
  * REST API Client using Rest-Assured
- * Handles API requests and responses
+ * Handles API requests and responses over one shared keep-alive connection pool; bodies are
+ * logged in bounded form and can be parsed straight from the response stream. With
+ * api.cache.enabled, GET responses are served from an ApiResponseCache and revalidated when stale.
+ * With api.cassette.mode RECORD or REPLAY, requests go through a local cassette server instead
  */
 @Component
 public class RestApiClient {
 
     private static final Logger logger = LogManager.getLogger(RestApiClient.class);
 
+    /**
+     * HTTP transport used for API requests
+     */
+    public enum Transport {
+        REST_ASSURED,
+        JDK
+    }
+
     @Autowired
     private ApplicationConfig config;
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Transport transport;
+    private RequestSpecification requestSpec;
+    private RestAssuredClientFactory restAssuredClients;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient pooledClient;
+    private HttpClient jdkClient;
+    private ApiResponseCache responseCache;
+    private ExecutorService fanOutExecutor;
+    private Semaphore fanOutPermits;
+    private ApiStubServer cassetteServer;
+    private ApiCassetteHandler cassetteHandler;
+
+    @PostConstruct
+    public void init() {
+        transport = parseEnum(Transport.class, config.getApiTransport(), "api.client.transport", Transport.REST_ASSURED);
+        int fanOutConcurrency = Math.max(1, config.getApiFanOutMaxConcurrency());
+        // Room for every scenario thread plus a full fan-out, so fan-out requests never queue for a connection
+        int maxConnections = config.getApiMaxConnections() > 0
+                ? config.getApiMaxConnections() : config.getThreadCount() + fanOutConcurrency;
+
+        // Pooled clients shared by every scenario, so connections and TLS sessions are reused;
+        // neither keeps cookies, so one scenario's session never leaks into another
+        restAssuredClients = new RestAssuredClientFactory(maxConnections, relaxedSslContext(),
+                config.getApiConnectTimeoutMillis(), config.getApiReadTimeoutMillis(), config.getApiPoolTimeoutMillis());
+        // Same relaxed HTTPS as the request spec, for requests streamed outside Rest-Assured
+        Registry<ConnectionSocketFactory> socketFactories = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", new SSLConnectionSocketFactory(relaxedSslContext(), NoopHostnameVerifier.INSTANCE))
+                .build();
+        connectionManager = new PoolingHttpClientConnectionManager(socketFactories);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+        connectionManager.setMaxTotal(maxConnections * 2);
+        pooledClient = HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(config.getApiConnectTimeoutMillis())
+                        .setSocketTimeout(config.getApiReadTimeoutMillis())
+                        .setConnectionRequestTimeout(config.getApiPoolTimeoutMillis())
+                        .build())
+                .disableCookieManagement()
+                .build();
+
+        requestSpec = new RequestSpecBuilder()
+                .setConfig(RestAssuredConfig.config().httpClient(restAssuredClients.httpClientConfig()))
+                .setRelaxedHTTPSValidation()
+                .build();
+
+        if (transport == Transport.JDK) {
+            jdkClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(Duration.ofMillis(config.getApiConnectTimeoutMillis()))
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .sslContext(relaxedSslContext())
+                    .build();
+        }
+        if (config.isApiCacheEnabled()) {
+            responseCache = new ApiResponseCache(Duration.ofSeconds(config.getApiCacheTtlSeconds()),
+                    config.getApiCacheMaxEntries(), config.getApiCacheMaxBytes());
+            logger.info("API response cache enabled (ttl={}s, maxEntries={})",
+                    config.getApiCacheTtlSeconds(), config.getApiCacheMaxEntries());
+        }
+        fanOutPermits = new Semaphore(fanOutConcurrency);
+        fanOutExecutor = newRequestExecutor("api-fanout", fanOutConcurrency);
+        startCassette();
+        logger.info("API client using {} transport (max {} connection(s) per host)", transport, maxConnections);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (fanOutExecutor != null) {
+            fanOutExecutor.shutdownNow();
+        }
+        if (cassetteServer != null) {
+            // Recordings are kept in memory and written once here
+            cassetteHandler.save();
+            cassetteServer.close();
+        }
+        if (restAssuredClients != null) {
+            restAssuredClients.shutdown();
+        }
+        if (pooledClient != null) {
+            try {
+                pooledClient.close();
+            } catch (IOException e) {
+                logger.warn("Error closing API connection pool: {}", e.getMessage());
+            }
+        }
+    }
+
     /**
-     * Perform GET request
+     * Perform GET request; served from the response cache when it is enabled
      */
     public Response performGetRequest(String endpoint) {
+        return performGetRequest(endpoint, Map.of());
+    }
+
+    /**
+     * Perform GET request with extra request headers; served from the response cache (keyed by
+     * those headers too) when it is enabled
+     */
+    public Response performGetRequest(String endpoint, Map<String, String> headers) {
+        if (responseCache == null) {
+            return performLiveGetRequest(endpoint, headers);
+        }
+        BufferedResponse cached = getCached(endpoint, headers);
+        return new ResponseBuilder()
+                .setStatusCode(cached.status)
+                .setStatusLine("HTTP/1.1 " + cached.status)
+                .setBody(cached.body)
+                .build();
+    }
+
+    /**
+     * Perform GET request over Rest-Assured, bypassing the response cache
+     */
+    private Response performLiveGetRequest(String endpoint, Map<String, String> headers) {
         try {
             logger.info("Performing GET request to: {}", endpoint);
-            
+            long start = System.nanoTime();
+
             Response response = given()
-                    .relaxedHTTPSValidation()
+                    .spec(requestSpec)
+                    .headers(headers)
                     .when()
-                    .get(endpoint)
+                    .get(route(endpoint))
                     .then()
                     .extract()
                     .response();
 
+            RunMetrics.recordTime("api.request", System.nanoTime() - start);
             logger.info("Response Status Code: {}", response.getStatusCode());
-            logger.info("Response Body: {}", response.getBody().asString());
-            
+            if (logger.isInfoEnabled()) {
+                logger.info("Response Body: {}", ResponseBodyTap.describe(response.asByteArray(), config.getApiLogPreviewBytes()));
+            }
+
             return response;
         } catch (Exception e) {
             logger.error("Error performing GET request: {}", e.getMessage(), e);
@@ -48,9 +236,15 @@ public class RestApiClient {
     }
 
     /**
-     * Get API response as String
+     * Get API response as String using the configured transport
      */
     public String getApiResponseAsString(String endpoint) {
+        if (responseCache != null) {
+            return new String(getCached(endpoint, Map.of()).body, StandardCharsets.UTF_8);
+        }
+        if (transport == Transport.JDK) {
+            return new String(performJdkGetRequest(endpoint, Map.of()).body(), StandardCharsets.UTF_8);
+        }
         Response response = performGetRequest(endpoint);
         return response.getBody().asString();
     }
@@ -62,4 +256,418 @@ public class RestApiClient {
         String apiUrl = config.getApiUrl();
         return getApiResponseAsString(apiUrl);
     }
+
+    /**
+     * Parse each product from the products API as it arrives, returning how many were read
+     */
+    public long streamProducts(Consumer<JsonNode> consumer) {
+        return streamJsonArray(config.getApiUrl(), "products", consumer);
+    }
+
+    /**
+     * Perform GET request and hand the body to a reader as a stream, without buffering it as a String
+     */
+    public <T> T readResponse(String endpoint, ResponseBodyReader<T> reader) {
+        try {
+            if (responseCache != null) {
+                // Cached bodies are already in memory, so the reader streams from the cached bytes
+                BufferedResponse cached = getCached(endpoint, Map.of());
+                if (cached.status >= 400) {
+                    throw new IOException("Request failed with status " + cached.status + ": "
+                            + ResponseBodyTap.describe(cached.body, config.getApiLogPreviewBytes()));
+                }
+                return reader.read(new ByteArrayInputStream(cached.body));
+            }
+            logger.info("Streaming GET request to: {}", endpoint);
+            long start = System.nanoTime();
+            T result = transport == Transport.JDK ? readJdkResponse(endpoint, reader) : readPooledResponse(endpoint, reader);
+            RunMetrics.recordTime("api.request", System.nanoTime() - start);
+            return result;
+        } catch (IOException e) {
+            logger.error("Error performing GET request: {}", e.getMessage(), e);
+            throw new IllegalStateException("GET request failed: " + endpoint, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during GET request: " + endpoint, e);
+        }
+    }
+
+    /**
+     * Run GET requests concurrently and wait for all of them (up to api.fanout.timeout.ms); each
+     * request is timed on its own, so a slow endpoint delays only its own outcome
+     */
+    public ApiFanOutResult fanOut(List<ApiRequest> requests) {
+        logger.info("Fanning out {} API request(s)", requests.size());
+        long start = System.nanoTime();
+        List<Future<ApiFanOutResult.Outcome>> futures = new ArrayList<>(requests.size());
+        for (ApiRequest request : requests) {
+            futures.add(fanOutExecutor.submit(() -> execute(request)));
+        }
+
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(config.getApiFanOutTimeoutMillis());
+        List<ApiFanOutResult.Outcome> outcomes = new ArrayList<>(requests.size());
+        for (int i = 0; i < futures.size(); i++) {
+            ApiRequest request = requests.get(i);
+            Future<ApiFanOutResult.Outcome> future = futures.get(i);
+            try {
+                outcomes.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                outcomes.add(new ApiFanOutResult.Outcome(request, 0, (System.nanoTime() - start) / 1_000_000, 0,
+                        "timed out after " + config.getApiFanOutTimeoutMillis() + " ms"));
+            } catch (ExecutionException e) {
+                outcomes.add(new ApiFanOutResult.Outcome(request, 0, (System.nanoTime() - start) / 1_000_000, 0,
+                        String.valueOf(e.getCause())));
+            } catch (InterruptedException e) {
+                futures.forEach(pending -> pending.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for API fan-out", e);
+            }
+        }
+
+        long wallTime = System.nanoTime() - start;
+        RunMetrics.recordTime("api.fanout", wallTime);
+        ApiFanOutResult result = new ApiFanOutResult(outcomes, wallTime / 1_000_000);
+        logger.info("API fan-out finished: {}", result.summary());
+        return result;
+    }
+
+    /**
+     * GET that only reports the status: no body logging, no response cache. Used by the load
+     * generator, where per-request INFO logging would dominate the run
+     */
+    public int performGetForStatus(String endpoint) throws IOException, InterruptedException {
+        if (transport == Transport.JDK) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(route(endpoint)))
+                    .timeout(Duration.ofMillis(config.getApiReadTimeoutMillis()))
+                    .GET()
+                    .build();
+            return jdkClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+        try (CloseableHttpResponse response = pooledClient.execute(new HttpGet(route(endpoint)))) {
+            int status = response.getStatusLine().getStatusCode();
+            EntityUtils.consumeQuietly(response.getEntity());
+            return status;
+        }
+    }
+
+    /**
+     * Raise the connection pool limits (never lowers them) so a caller can keep that many requests in flight
+     */
+    public void ensureConnectionCapacity(int connections) {
+        restAssuredClients.ensureCapacity(connections);
+        synchronized (connectionManager) {
+            if (connectionManager.getDefaultMaxPerRoute() < connections) {
+                connectionManager.setDefaultMaxPerRoute(connections);
+                connectionManager.setMaxTotal(Math.max(connectionManager.getMaxTotal(), connections * 2));
+                logger.info("API connection pool raised to {} connection(s) per host", connections);
+            }
+        }
+    }
+
+    /**
+     * Stream the elements of a top-level JSON array field one at a time, returning how many were read
+     */
+    public long streamJsonArray(String endpoint, String arrayField, Consumer<JsonNode> consumer) {
+        return readResponse(endpoint, body -> {
+            long count = 0;
+            try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new IOException("Response is not a JSON object");
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    JsonToken value = parser.nextToken();
+                    if (!arrayField.equals(name) || value != JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        consumer.accept(objectMapper.readTree(parser));
+                        count++;
+                    }
+                }
+            }
+            return count;
+        });
+    }
+
+    /**
+     * Serve a GET from the response cache; stale entries are revalidated with If-None-Match /
+     * If-Modified-Since and only downloaded again when the server reports a change. Entries are
+     * keyed by the request headers as well, so requests that differ only in headers never share one
+     */
+    private BufferedResponse getCached(String endpoint, Map<String, String> headers) {
+        String key = ApiResponseCache.key("GET", endpoint, headers);
+        ApiResponseCache.Entry entry = responseCache.get(key);
+        if (entry != null && entry.isFresh()) {
+            RunMetrics.increment("api.cache.hit");
+            logger.info("Serving GET {} from the response cache", endpoint);
+            return new BufferedResponse(200, entry.getBody(), null, null, null);
+        }
+
+        boolean revalidating = entry != null && entry.canRevalidate();
+        Map<String, String> requestHeaders = headers;
+        if (revalidating) {
+            requestHeaders = new LinkedHashMap<>(headers);
+            requestHeaders.putAll(entry.conditionalHeaders());
+        }
+        BufferedResponse response = fetchBuffered(endpoint, requestHeaders);
+        if (response.status == 304 && revalidating) {
+            RunMetrics.increment("api.cache.revalidated");
+            logger.info("GET {} not modified, serving the cached body", endpoint);
+            byte[] body = responseCache.revalidated(key, entry, response.cacheControl).getBody();
+            return new BufferedResponse(200, body, null, null, null);
+        }
+        RunMetrics.increment("api.cache.miss");
+        if (response.status == 200) {
+            responseCache.put(key, response.body, response.eTag, response.lastModified, response.cacheControl);
+        }
+        return response;
+    }
+
+    private ApiFanOutResult.Outcome execute(ApiRequest request) throws InterruptedException {
+        fanOutPermits.acquire();
+        long start = System.nanoTime();
+        try {
+            BufferedResponse response = responseCache != null
+                    ? getCached(request.getEndpoint(), Map.of())
+                    : fetchBuffered(request.getEndpoint(), Map.of());
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            String error = response.status == request.getExpectedStatus() ? null
+                    : "expected status " + request.getExpectedStatus() + " but was " + response.status;
+            return new ApiFanOutResult.Outcome(request, response.status, durationMs, response.body.length, error);
+        } catch (RuntimeException e) {
+            return new ApiFanOutResult.Outcome(request, 0, (System.nanoTime() - start) / 1_000_000, 0, e.getMessage());
+        } finally {
+            fanOutPermits.release();
+        }
+    }
+
+    private BufferedResponse fetchBuffered(String endpoint, Map<String, String> headers) {
+        if (transport == Transport.JDK) {
+            HttpResponse<byte[]> response = performJdkGetRequest(endpoint, headers);
+            return new BufferedResponse(response.statusCode(), response.body(),
+                    response.headers().firstValue("ETag").orElse(null),
+                    response.headers().firstValue("Last-Modified").orElse(null),
+                    response.headers().firstValue("Cache-Control").orElse(null));
+        }
+        Response response = performLiveGetRequest(endpoint, headers);
+        return new BufferedResponse(response.getStatusCode(), response.asByteArray(), response.getHeader("ETag"),
+                response.getHeader("Last-Modified"), response.getHeader("Cache-Control"));
+    }
+
+    /**
+     * Perform GET request over java.net.http, multiplexed on one HTTP/2 connection per host
+     */
+    private HttpResponse<byte[]> performJdkGetRequest(String endpoint, Map<String, String> headers) {
+        try {
+            logger.info("Performing GET request to: {}", endpoint);
+            long start = System.nanoTime();
+
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(route(endpoint)))
+                    .timeout(Duration.ofMillis(config.getApiReadTimeoutMillis()))
+                    .GET();
+            headers.forEach(builder::header);
+            HttpRequest request = builder.build();
+            HttpResponse<byte[]> response = jdkClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+            RunMetrics.recordTime("api.request", System.nanoTime() - start);
+            logger.info("Response Status Code: {} ({})", response.statusCode(), response.version());
+            if (logger.isInfoEnabled()) {
+                logger.info("Response Body: {}", ResponseBodyTap.describe(response.body(), config.getApiLogPreviewBytes()));
+            }
+            return response;
+        } catch (IOException e) {
+            logger.error("Error performing GET request: {}", e.getMessage(), e);
+            throw new IllegalStateException("GET request failed: " + endpoint, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during GET request: " + endpoint, e);
+        }
+    }
+
+    private <T> T readPooledResponse(String endpoint, ResponseBodyReader<T> reader) throws IOException {
+        HttpGet request = new HttpGet(route(endpoint));
+        CloseableHttpResponse response = pooledClient.execute(request);
+        try {
+            int status = response.getStatusLine().getStatusCode();
+            InputStream content = response.getEntity() != null ? response.getEntity().getContent() : InputStream.nullInputStream();
+            return readBody(status, response.getStatusLine().getProtocolVersion().toString(), content, reader);
+        } finally {
+            // Consuming the rest of the entity returns the connection to the pool
+            EntityUtils.consumeQuietly(response.getEntity());
+        }
+    }
+
+    private <T> T readJdkResponse(String endpoint, ResponseBodyReader<T> reader) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(route(endpoint)))
+                .timeout(Duration.ofMillis(config.getApiReadTimeoutMillis()))
+                .GET()
+                .build();
+        HttpResponse<InputStream> response = jdkClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream content = response.body()) {
+            return readBody(response.statusCode(), response.version().toString(), content, reader);
+        }
+    }
+
+    private <T> T readBody(int status, String protocol, InputStream content, ResponseBodyReader<T> reader) throws IOException {
+        logger.info("Response Status Code: {} ({})", status, protocol);
+        ResponseBodyTap body = new ResponseBodyTap(content, config.getApiLogPreviewBytes());
+        try (body) {
+            if (status >= 400) {
+                body.close();
+                throw new IOException("Request failed with status " + status + ": " + body.summary());
+            }
+            return reader.read(body);
+        } finally {
+            logger.info("Response Body: {}", body.summary());
+        }
+    }
+
+    /**
+     * Virtual threads when the JDK has them (21+), otherwise a fixed pool of maxConcurrency
+     * threads; callers bound how many requests they submit at once
+     */
+    static ExecutorService newRequestExecutor(String name, int maxConcurrency) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            logger.info("{} requests run on virtual threads (max {} in flight)", name, maxConcurrency);
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            logger.info("{} requests run on a pool of {} thread(s)", name, maxConcurrency);
+            AtomicInteger counter = new AtomicInteger();
+            return Executors.newFixedThreadPool(maxConcurrency, r -> {
+                Thread thread = new Thread(r, name + "-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * In RECORD or REPLAY mode, start a local ApiStubServer backed by the cassette; route() then
+     * sends every request through it
+     */
+    private void startCassette() {
+        ApiCassette.Mode mode = parseEnum(ApiCassette.Mode.class, config.getApiCassetteMode(), "api.cassette.mode", ApiCassette.Mode.LIVE);
+        if (mode == ApiCassette.Mode.LIVE) {
+            return;
+        }
+        Path file = Paths.get(config.getApiCassettePath());
+        Set<ApiCassette.MatchRule> matchRules = EnumSet.noneOf(ApiCassette.MatchRule.class);
+        for (String rule : config.getApiCassetteMatch().split(",")) {
+            if (!rule.isBlank()) {
+                matchRules.add(parseEnum(ApiCassette.MatchRule.class, rule, "api.cassette.match", ApiCassette.MatchRule.PATH));
+            }
+        }
+        ApiCassette.Latency latency = parseEnum(ApiCassette.Latency.class, config.getApiCassetteLatency(),
+                "api.cassette.latency", ApiCassette.Latency.NONE);
+        try {
+            ApiCassette cassette;
+            HttpClient liveClient = null;
+            if (mode == ApiCassette.Mode.REPLAY) {
+                if (!Files.isRegularFile(file)) {
+                    throw new IllegalStateException("No API cassette at " + file.toAbsolutePath()
+                            + "; record one with api.cassette.mode=RECORD");
+                }
+                cassette = ApiCassette.load(file, matchRules);
+            } else {
+                // Recording merges into the existing cassette unless a fresh one is asked for
+                cassette = Files.isRegularFile(file) && !config.isApiCassetteRecordFresh()
+                        ? ApiCassette.load(file, matchRules) : new ApiCassette(matchRules);
+                liveClient = HttpClient.newBuilder()
+                        .connectTimeout(Duration.ofMillis(config.getApiConnectTimeoutMillis()))
+                        .followRedirects(HttpClient.Redirect.NORMAL)
+                        .sslContext(relaxedSslContext())
+                        .build();
+            }
+            cassetteHandler = new ApiCassetteHandler(cassette, mode, file, latency,
+                    config.getApiCassetteLatencyMillis(), config.getApiCassetteLatencyScale(), liveClient,
+                    Duration.ofMillis(config.getApiReadTimeoutMillis()));
+            cassetteServer = ApiStubServer.start(0).fallback(cassetteHandler);
+            logger.info("API cassette {} {} ({} interaction(s), latency {}) through {}", mode, file.toAbsolutePath(),
+                    cassette.size(), latency, cassetteServer.baseUrl());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not open API cassette " + file.toAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Endpoint to actually call: the endpoint itself, or its cassette URL when recording or replaying
+     */
+    private String route(String endpoint) {
+        return cassetteServer != null ? ApiCassetteHandler.route(cassetteServer.baseUrl(), endpoint) : endpoint;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String property, E fallback) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown {} '{}', using {}", property, value, fallback);
+            return fallback;
+        }
+    }
+
+    /**
+     * Fully read response: status, body and the headers the response cache needs
+     */
+    private static final class BufferedResponse {
+        private final int status;
+        private final byte[] body;
+        private final String eTag;
+        private final String lastModified;
+        private final String cacheControl;
+
+        private BufferedResponse(int status, byte[] body, String eTag, String lastModified, String cacheControl) {
+            this.status = status;
+            this.body = body;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.cacheControl = cacheControl;
+        }
+    }
+
+    /**
+     * Trust-all SSL context so the JDK transport matches relaxedHTTPSValidation()
+     */
+    private static SSLContext relaxedSslContext() {
+        TrustManager trustAll = new X509ExtendedTrustManager() {
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType, Socket socket) {
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType, Socket socket) {
+            }
+
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+            }
+
+            @Override
+            public X509Certificate[] getAcceptedIssuers() {
+                return new X509Certificate[0];
+            }
+        };
+        try {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, new TrustManager[]{trustAll}, null);
+            return context;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not create SSL context for the API client", e);
+        }
+    }
 }
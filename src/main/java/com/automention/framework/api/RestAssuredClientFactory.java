@@ -0,0 +1,76 @@
+package com.automention.framework.api;
+
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.client.protocol.RequestAddCookies;
+import org.apache.http.client.protocol.ResponseProcessCookies;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.CoreConnectionPNames;
+
+import javax.net.ssl.SSLContext;
+
+/**
+ * Rest-Assured HTTP Client Factory
+ * One pooled client shared by every Rest-Assured request. Rest-Assured 5 only drives the legacy
+ * AbstractHttpClient API, so the deprecated HttpClient 4 classes are confined to this class.
+ * Cookie handling is removed from the client: cookies a scenario sets or receives never reach another
+ */
+@SuppressWarnings("deprecation")
+public class RestAssuredClientFactory implements HttpClientConfig.HttpClientFactory {
+
+    private final PoolingClientConnectionManager connectionManager;
+    private final DefaultHttpClient client;
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+    private final long poolTimeoutMillis;
+
+    public RestAssuredClientFactory(int maxConnections, SSLContext sslContext, int connectTimeoutMillis,
+                                    int readTimeoutMillis, long poolTimeoutMillis) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.readTimeoutMillis = readTimeoutMillis;
+        this.poolTimeoutMillis = poolTimeoutMillis;
+        connectionManager = new PoolingClientConnectionManager();
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+        connectionManager.setMaxTotal(maxConnections * 2);
+        connectionManager.getSchemeRegistry().register(new Scheme("https", 443,
+                new SSLSocketFactory(sslContext, SSLSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER)));
+        client = new DefaultHttpClient(connectionManager);
+        client.removeRequestInterceptorByClass(RequestAddCookies.class);
+        client.removeResponseInterceptorByClass(ResponseProcessCookies.class);
+    }
+
+    @Override
+    public HttpClient createHttpClient() {
+        return client;
+    }
+
+    /**
+     * Rest-Assured config that reuses the pooled client with the configured timeouts
+     */
+    public HttpClientConfig httpClientConfig() {
+        return HttpClientConfig.httpClientConfig()
+                .httpClientFactory(this)
+                .reuseHttpClientInstance()
+                .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, connectTimeoutMillis)
+                .setParam(CoreConnectionPNames.SO_TIMEOUT, readTimeoutMillis)
+                .setParam(ClientPNames.CONN_MANAGER_TIMEOUT, poolTimeoutMillis);
+    }
+
+    /**
+     * Raise the pool limits (never lowers them)
+     */
+    public synchronized void ensureCapacity(int connections) {
+        if (connectionManager.getDefaultMaxPerRoute() < connections) {
+            connectionManager.setDefaultMaxPerRoute(connections);
+            connectionManager.setMaxTotal(Math.max(connectionManager.getMaxTotal(), connections * 2));
+        }
+    }
+
+    public void shutdown() {
+        connectionManager.shutdown();
+    }
+}
@@ -0,0 +1,61 @@
+package com.automention.framework.api;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Schema Validation Result
+ * Outcome of validating one response, or every element of a streamed array, against a JSON
+ * Schema; only the first api.schema.max.errors messages are kept
+ */
+public class SchemaValidationResult {
+
+    private final String schema;
+    private final long validated;
+    private final long invalid;
+    private final List<String> errors;
+    private final long elapsedNanos;
+
+    SchemaValidationResult(String schema, long validated, long invalid, List<String> errors, long elapsedNanos) {
+        this.schema = schema;
+        this.validated = validated;
+        this.invalid = invalid;
+        this.errors = Collections.unmodifiableList(errors);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public boolean isValid() {
+        return invalid == 0;
+    }
+
+    /**
+     * Number of documents (or array elements, when streamed) that were validated
+     */
+    public long getValidated() {
+        return validated;
+    }
+
+    public long getInvalid() {
+        return invalid;
+    }
+
+    /**
+     * Messages in the form "pointer: reason", where the pointer locates the failing value
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public long getElapsedMicros() {
+        return elapsedNanos / 1_000;
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder(String.format("%s: %d validated, %d invalid in %d us",
+                schema, validated, invalid, getElapsedMicros()));
+        for (String error : errors) {
+            summary.append(String.format("%n  %s", error));
+        }
+        return summary.toString();
+    }
+}
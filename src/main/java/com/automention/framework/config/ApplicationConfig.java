@@ -60,6 +60,186 @@ public class ApplicationConfig {
     @Value("${test.thread.count}")
     private int threadCount;
 
+    @Value("${selenium.pool.enabled:true}")
+    private boolean driverPoolEnabled;
+
+    @Value("${selenium.pool.max.size:0}")
+    private int driverPoolMaxSize;
+
+    @Value("${selenium.pool.max.reuse:50}")
+    private int driverPoolMaxReuse;
+
+    @Value("${selenium.pool.idle.timeout:300}")
+    private int driverPoolIdleTimeout;
+
+    @Value("${selenium.pool.prewarm:true}")
+    private boolean driverPoolPrewarm;
+
+    @Value("${selenium.grid.admission.enabled:true}")
+    private boolean gridAdmissionEnabled;
+
+    @Value("${selenium.grid.max.sessions:4}")
+    private int gridMaxSessions;
+
+    @Value("${selenium.grid.status.refresh:30}")
+    private int gridStatusRefreshSeconds;
+
+    @Value("${selenium.wait.polling.ms:50}")
+    private long waitPollingMillis;
+
+    @Value("${selenium.wait.max.polling.ms:500}")
+    private long waitMaxPollingMillis;
+
+    @Value("${selenium.wait.backoff:1.5}")
+    private double waitBackoff;
+
+    @Value("${selenium.form.native.events:false}")
+    private boolean nativeFormEvents;
+
+    @Value("${selenium.command.metrics.enabled:true}")
+    private boolean commandMetricsEnabled;
+
+    @Value("${auth.snapshot.ttl:900}")
+    private int authSnapshotTtlSeconds;
+
+    @Value("${elasticsearch.bulk.max.actions:100}")
+    private int bulkMaxActions;
+
+    @Value("${elasticsearch.bulk.max.bytes:5242880}")
+    private long bulkMaxBytes;
+
+    @Value("${elasticsearch.bulk.flush.interval.ms:1000}")
+    private long bulkFlushIntervalMillis;
+
+    @Value("${elasticsearch.bulk.concurrent.requests:1}")
+    private int bulkConcurrentRequests;
+
+    @Value("${elasticsearch.bulk.queue.capacity:1000}")
+    private int bulkQueueCapacity;
+
+    @Value("${elasticsearch.bulk.max.retries:3}")
+    private int bulkMaxRetries;
+
+    @Value("${elasticsearch.spool.path:es-spool}")
+    private String spoolPath;
+
+    @Value("${elasticsearch.spool.segment.size:16777216}")
+    private int spoolSegmentSize;
+
+    @Value("${elasticsearch.breaker.failure.threshold:3}")
+    private int breakerFailureThreshold;
+
+    @Value("${elasticsearch.breaker.open.seconds:30}")
+    private int breakerOpenSeconds;
+
+    @Value("${elasticsearch.health.timeout.ms:2000}")
+    private long healthTimeoutMillis;
+
+    @Value("${elasticsearch.index.template.enabled:true}")
+    private boolean indexTemplateEnabled;
+
+    @Value("${elasticsearch.index.rollover.max.age:7d}")
+    private String rolloverMaxAge;
+
+    @Value("${elasticsearch.index.rollover.max.size:10gb}")
+    private String rolloverMaxSize;
+
+    @Value("${elasticsearch.index.retention:90d}")
+    private String indexRetention;
+
+    @Value("${elasticsearch.screenshot.upload:true}")
+    private boolean screenshotUploadEnabled;
+
+    @Value("${elasticsearch.screenshot.index:test-automation-screenshots}")
+    private String screenshotIndex;
+
+    @Value("${report.screenshot.thumbnail.width:160}")
+    private int screenshotThumbnailWidth;
+
+    @Value("${api.client.transport:REST_ASSURED}")
+    private String apiTransport;
+
+    @Value("${api.client.max.connections:0}")
+    private int apiMaxConnections;
+
+    @Value("${api.client.connect.timeout.ms:5000}")
+    private int apiConnectTimeoutMillis;
+
+    @Value("${api.client.read.timeout.ms:30000}")
+    private int apiReadTimeoutMillis;
+
+    @Value("${api.client.pool.timeout.ms:10000}")
+    private int apiPoolTimeoutMillis;
+
+    @Value("${api.log.body.preview.bytes:1024}")
+    private int apiLogPreviewBytes;
+
+    @Value("${api.cache.enabled:false}")
+    private boolean apiCacheEnabled;
+
+    @Value("${api.cache.ttl.seconds:300}")
+    private int apiCacheTtlSeconds;
+
+    @Value("${api.cache.max.entries:100}")
+    private int apiCacheMaxEntries;
+
+    @Value("${api.cache.max.bytes:67108864}")
+    private long apiCacheMaxBytes;
+
+    @Value("${api.fanout.max.concurrency:16}")
+    private int apiFanOutMaxConcurrency;
+
+    @Value("${api.fanout.timeout.ms:60000}")
+    private long apiFanOutTimeoutMillis;
+
+    @Value("${api.load.ramp.seconds:10}")
+    private int apiLoadRampSeconds;
+
+    @Value("${api.load.hold.seconds:30}")
+    private int apiLoadHoldSeconds;
+
+    @Value("${api.load.max.in.flight:200}")
+    private int apiLoadMaxInFlight;
+
+    @Value("${api.load.max.error.rate:0.01}")
+    private double apiLoadMaxErrorRate;
+
+    @Value("${api.load.output.path:target/load-results/}")
+    private String apiLoadOutputPath;
+
+    @Value("${api.schema.dir:src/test/resources/api/schemas/}")
+    private String apiSchemaDir;
+
+    @Value("${api.schema.max.errors:20}")
+    private int apiSchemaMaxErrors;
+
+    @Value("${api.cassette.mode:LIVE}")
+    private String apiCassetteMode;
+
+    @Value("${api.cassette.path:src/test/resources/api/cassettes/api-cassette.json.gz}")
+    private String apiCassettePath;
+
+    @Value("${api.cassette.match:METHOD,HOST,PATH,QUERY}")
+    private String apiCassetteMatch;
+
+    @Value("${api.cassette.latency:NONE}")
+    private String apiCassetteLatency;
+
+    @Value("${api.cassette.latency.ms:0}")
+    private long apiCassetteLatencyMillis;
+
+    @Value("${api.cassette.latency.scale:1.0}")
+    private double apiCassetteLatencyScale;
+
+    @Value("${api.cassette.record.fresh:false}")
+    private boolean apiCassetteRecordFresh;
+
+    @Value("${api.diff.identity.keys:id}")
+    private String apiDiffIdentityKeys;
+
+    @Value("${api.diff.max.differences:100}")
+    private int apiDiffMaxDifferences;
+
     // Getters
     public String getSeleniumGridUrl() {
         return seleniumGridUrl;
@@ -124,4 +304,244 @@ public class ApplicationConfig {
     public int getThreadCount() {
         return threadCount;
     }
+
+    public boolean isDriverPoolEnabled() {
+        return driverPoolEnabled;
+    }
+
+    public int getDriverPoolMaxSize() {
+        return driverPoolMaxSize;
+    }
+
+    public int getDriverPoolMaxReuse() {
+        return driverPoolMaxReuse;
+    }
+
+    public int getDriverPoolIdleTimeout() {
+        return driverPoolIdleTimeout;
+    }
+
+    public boolean isDriverPoolPrewarm() {
+        return driverPoolPrewarm;
+    }
+
+    public boolean isGridAdmissionEnabled() {
+        return gridAdmissionEnabled;
+    }
+
+    public int getGridMaxSessions() {
+        return gridMaxSessions;
+    }
+
+    public int getGridStatusRefreshSeconds() {
+        return gridStatusRefreshSeconds;
+    }
+
+    public long getWaitPollingMillis() {
+        return waitPollingMillis;
+    }
+
+    public long getWaitMaxPollingMillis() {
+        return waitMaxPollingMillis;
+    }
+
+    public double getWaitBackoff() {
+        return waitBackoff;
+    }
+
+    public boolean isNativeFormEvents() {
+        return nativeFormEvents;
+    }
+
+    public int getAuthSnapshotTtlSeconds() {
+        return authSnapshotTtlSeconds;
+    }
+
+    public boolean isCommandMetricsEnabled() {
+        return commandMetricsEnabled;
+    }
+
+    public int getBulkMaxActions() {
+        return bulkMaxActions;
+    }
+
+    public long getBulkMaxBytes() {
+        return bulkMaxBytes;
+    }
+
+    public long getBulkFlushIntervalMillis() {
+        return bulkFlushIntervalMillis;
+    }
+
+    public int getBulkConcurrentRequests() {
+        return bulkConcurrentRequests;
+    }
+
+    public int getBulkQueueCapacity() {
+        return bulkQueueCapacity;
+    }
+
+    public int getBulkMaxRetries() {
+        return bulkMaxRetries;
+    }
+
+    public boolean isScreenshotUploadEnabled() {
+        return screenshotUploadEnabled;
+    }
+
+    public String getScreenshotIndex() {
+        return screenshotIndex;
+    }
+
+    public int getScreenshotThumbnailWidth() {
+        return screenshotThumbnailWidth;
+    }
+
+    public String getSpoolPath() {
+        return spoolPath;
+    }
+
+    public int getSpoolSegmentSize() {
+        return spoolSegmentSize;
+    }
+
+    public int getBreakerFailureThreshold() {
+        return breakerFailureThreshold;
+    }
+
+    public int getBreakerOpenSeconds() {
+        return breakerOpenSeconds;
+    }
+
+    public long getHealthTimeoutMillis() {
+        return healthTimeoutMillis;
+    }
+
+    public boolean isIndexTemplateEnabled() {
+        return indexTemplateEnabled;
+    }
+
+    public String getRolloverMaxAge() {
+        return rolloverMaxAge;
+    }
+
+    public String getRolloverMaxSize() {
+        return rolloverMaxSize;
+    }
+
+    public String getIndexRetention() {
+        return indexRetention;
+    }
+
+    public String getApiTransport() {
+        return apiTransport;
+    }
+
+    public int getApiMaxConnections() {
+        return apiMaxConnections;
+    }
+
+    public int getApiConnectTimeoutMillis() {
+        return apiConnectTimeoutMillis;
+    }
+
+    public int getApiReadTimeoutMillis() {
+        return apiReadTimeoutMillis;
+    }
+
+    public int getApiPoolTimeoutMillis() {
+        return apiPoolTimeoutMillis;
+    }
+
+    public int getApiLogPreviewBytes() {
+        return apiLogPreviewBytes;
+    }
+
+    public boolean isApiCacheEnabled() {
+        return apiCacheEnabled;
+    }
+
+    public int getApiCacheTtlSeconds() {
+        return apiCacheTtlSeconds;
+    }
+
+    public int getApiCacheMaxEntries() {
+        return apiCacheMaxEntries;
+    }
+
+    public long getApiCacheMaxBytes() {
+        return apiCacheMaxBytes;
+    }
+
+    public int getApiFanOutMaxConcurrency() {
+        return apiFanOutMaxConcurrency;
+    }
+
+    public long getApiFanOutTimeoutMillis() {
+        return apiFanOutTimeoutMillis;
+    }
+
+    public int getApiLoadRampSeconds() {
+        return apiLoadRampSeconds;
+    }
+
+    public int getApiLoadHoldSeconds() {
+        return apiLoadHoldSeconds;
+    }
+
+    public int getApiLoadMaxInFlight() {
+        return apiLoadMaxInFlight;
+    }
+
+    public double getApiLoadMaxErrorRate() {
+        return apiLoadMaxErrorRate;
+    }
+
+    public String getApiLoadOutputPath() {
+        return apiLoadOutputPath;
+    }
+
+    public String getApiSchemaDir() {
+        return apiSchemaDir;
+    }
+
+    public int getApiSchemaMaxErrors() {
+        return apiSchemaMaxErrors;
+    }
+
+    public String getApiCassetteMode() {
+        return apiCassetteMode;
+    }
+
+    public String getApiCassettePath() {
+        return apiCassettePath;
+    }
+
+    public String getApiCassetteMatch() {
+        return apiCassetteMatch;
+    }
+
+    public String getApiCassetteLatency() {
+        return apiCassetteLatency;
+    }
+
+    public long getApiCassetteLatencyMillis() {
+        return apiCassetteLatencyMillis;
+    }
+
+    public double getApiCassetteLatencyScale() {
+        return apiCassetteLatencyScale;
+    }
+
+    public boolean isApiCassetteRecordFresh() {
+        return apiCassetteRecordFresh;
+    }
+
+    public String getApiDiffIdentityKeys() {
+        return apiDiffIdentityKeys;
+    }
+
+    public int getApiDiffMaxDifferences() {
+        return apiDiffMaxDifferences;
+    }
 }
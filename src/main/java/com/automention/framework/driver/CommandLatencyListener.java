@@ -0,0 +1,49 @@
+package com.automention.framework.driver;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WebDriver listener that times every decorated call into CommandLatencyRecorder,
+ * keyed by the declaring interface and method, e.g. "WebElement.click"
+ */
+public class CommandLatencyListener implements WebDriverListener {
+
+    // Calls that only return local helper objects and never reach the wire
+    private static final Set<String> LOCAL_CALLS = Set.of(
+            "manage", "navigate", "switchTo", "timeouts", "window", "logs",
+            "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals");
+
+    private static final Map<Method, String> commandNames = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<long[]> callStart = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        callStart.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(method);
+    }
+
+    private void record(Method method) {
+        long elapsed = System.nanoTime() - callStart.get()[0];
+        String command = commandNames.computeIfAbsent(method, m -> LOCAL_CALLS.contains(m.getName())
+                ? "" : m.getDeclaringClass().getSimpleName() + "." + m.getName());
+        if (!command.isEmpty()) {
+            CommandLatencyRecorder.record(command, elapsed);
+        }
+    }
+}
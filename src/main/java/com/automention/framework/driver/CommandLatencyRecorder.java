@@ -0,0 +1,73 @@
+package com.automention.framework.driver;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WebDriver Command Latency Recorder
+ * Keeps per-command latency histograms (in microseconds) for the whole suite and for the
+ * scenario running on the current thread. Recording is wait-free and allocation-free once
+ * a command's histogram exists
+ */
+public final class CommandLatencyRecorder {
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private static final Map<String, Histogram> suiteHistograms = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<String, Histogram>> scenarioHistograms = ThreadLocal.withInitial(HashMap::new);
+
+    private CommandLatencyRecorder() {
+    }
+
+    /**
+     * Record one command's duration
+     */
+    public static void record(String command, long nanos) {
+        long micros = Math.max(1, nanos / 1_000);
+        suiteHistograms.computeIfAbsent(command, k -> new ConcurrentHistogram(SIGNIFICANT_DIGITS)).recordValue(micros);
+        scenarioHistograms.get().computeIfAbsent(command, k -> new Histogram(SIGNIFICANT_DIGITS)).recordValue(micros);
+    }
+
+    /**
+     * Summarize and reset the current thread's scenario histograms, for the scenario's result document
+     */
+    public static Map<String, Map<String, Object>> drainScenario() {
+        Map<String, Histogram> histograms = scenarioHistograms.get();
+        Map<String, Map<String, Object>> summary = new TreeMap<>();
+        histograms.forEach((command, histogram) -> summary.put(command, toDocument(histogram)));
+        histograms.clear();
+        return summary;
+    }
+
+    /**
+     * Printable percentiles per command for the whole suite
+     */
+    public static Map<String, String> suiteSummary() {
+        Map<String, String> summary = new LinkedHashMap<>();
+        new TreeMap<>(suiteHistograms).forEach((command, histogram) -> summary.put(command, String.format(
+                "count=%d p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms",
+                histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(95) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getMaxValue() / 1000.0)));
+        return summary;
+    }
+
+    private static Map<String, Object> toDocument(Histogram histogram) {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("count", histogram.getTotalCount());
+        document.put("p50Ms", histogram.getValueAtPercentile(50) / 1000.0);
+        document.put("p95Ms", histogram.getValueAtPercentile(95) / 1000.0);
+        document.put("p99Ms", histogram.getValueAtPercentile(99) / 1000.0);
+        document.put("maxMs", histogram.getMaxValue() / 1000.0);
+        document.put("totalMs", histogram.getTotalCount() * histogram.getMean() / 1000.0);
+        return document;
+    }
+}
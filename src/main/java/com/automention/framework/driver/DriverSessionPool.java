@@ -0,0 +1,327 @@
+package com.automention.framework.driver;
+
+import com.automention.framework.utils.RunMetrics;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of reusable RemoteWebDriver sessions
+ * Leases warm sessions per scenario and resets them cheaply on release
+ */
+public class DriverSessionPool {
+
+    private static final Logger logger = LogManager.getLogger(DriverSessionPool.class);
+
+    private final Supplier<WebDriver> sessionFactory;
+    private final Consumer<WebDriver> sessionCloser;
+    private final int maxSize;
+    private final int maxReuse;
+    private final Duration idleTimeout;
+    private final Duration leaseTimeout;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledSession> idleSessions = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, PooledSession> leasedSessions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService evictor;
+    private final AtomicInteger warmupsInFlight = new AtomicInteger();
+
+    private volatile boolean closed;
+
+    public DriverSessionPool(Supplier<WebDriver> sessionFactory, Consumer<WebDriver> sessionCloser,
+                             int maxSize, int maxReuse, Duration idleTimeout, Duration leaseTimeout) {
+        this.sessionFactory = sessionFactory;
+        this.sessionCloser = sessionCloser;
+        this.maxSize = Math.max(1, maxSize);
+        this.maxReuse = Math.max(1, maxReuse);
+        this.idleTimeout = idleTimeout;
+        this.leaseTimeout = leaseTimeout;
+        this.permits = new Semaphore(this.maxSize, true);
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "driver-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, idleTimeout.toSeconds() / 2);
+        this.evictor.scheduleAtFixedRate(this::evictIdleSessions, period, period, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Lease a healthy session, reusing an idle one when available
+     */
+    public WebDriver lease() {
+        if (closed) {
+            throw new IllegalStateException("Driver session pool is closed");
+        }
+        try {
+            if (!permits.tryAcquire(leaseTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Timed out after " + leaseTimeout.toSeconds()
+                        + "s waiting for a free WebDriver session (pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a WebDriver session", e);
+        }
+
+        try {
+            PooledSession session = takeIdleSession();
+            if (session != null) {
+                session.useCount++;
+                leasedSessions.put(session.driver, session);
+                logger.debug("Reusing pooled WebDriver session (use {}/{})", session.useCount, maxReuse);
+                return session.driver;
+            }
+
+            session = new PooledSession(sessionFactory.get());
+            session.useCount = 1;
+            leasedSessions.put(session.driver, session);
+            logger.info("Created new pooled WebDriver session ({} leased, {} idle)",
+                    leasedSessions.size(), idleSessions.size());
+            return session.driver;
+        } catch (InterruptedException e) {
+            permits.release();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a warm WebDriver session", e);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Open sessions in the background so the first scenarios find them warm
+     */
+    public CompletableFuture<Void> prewarm(int count) {
+        int target = Math.min(count, maxSize - leasedSessions.size() - idleSessions.size());
+        if (target <= 0 || closed) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        long start = System.nanoTime();
+        warmupsInFlight.addAndGet(target);
+        ExecutorService warmupExecutor = Executors.newFixedThreadPool(target, r -> {
+            Thread thread = new Thread(r, "driver-pool-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        CompletableFuture<?>[] warmups = new CompletableFuture<?>[target];
+        for (int i = 0; i < target; i++) {
+            warmups[i] = CompletableFuture.runAsync(() -> {
+                try {
+                    PooledSession session = new PooledSession(sessionFactory.get());
+                    if (closed) {
+                        destroy(session);
+                    } else {
+                        idleSessions.offerLast(session);
+                    }
+                } catch (Exception e) {
+                    logger.warn("Could not pre-warm WebDriver session: {}", e.getMessage());
+                    RunMetrics.increment("driver.warmup.failures");
+                } finally {
+                    warmupsInFlight.decrementAndGet();
+                }
+            }, warmupExecutor);
+        }
+
+        logger.info("Pre-warming {} WebDriver session(s) in the background", target);
+        return CompletableFuture.allOf(warmups).whenComplete((result, error) -> {
+            warmupExecutor.shutdown();
+            long elapsed = System.nanoTime() - start;
+            RunMetrics.recordTime("driver.warmup", elapsed);
+            logger.info("WebDriver warm-up finished in {} ms ({} idle)", elapsed / 1_000_000, idleSessions.size());
+        });
+    }
+
+    /**
+     * Return a leased session to the pool after resetting its browser state
+     */
+    public void release(WebDriver driver) {
+        PooledSession session = leasedSessions.remove(driver);
+        if (session == null) {
+            logger.warn("Released WebDriver session was not leased from this pool, quitting it");
+            quietQuit(driver);
+            return;
+        }
+        try {
+            if (closed || session.useCount >= maxReuse || !reset(session)) {
+                destroy(session);
+            } else {
+                session.lastReleased = System.nanoTime();
+                idleSessions.offerFirst(session);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Remove a leased session from the pool and quit it
+     */
+    public void invalidate(WebDriver driver) {
+        PooledSession session = leasedSessions.remove(driver);
+        if (session == null) {
+            quietQuit(driver);
+            return;
+        }
+        try {
+            destroy(session);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Quit all idle sessions and stop the evictor
+     */
+    public void shutdown() {
+        closed = true;
+        evictor.shutdownNow();
+        PooledSession session;
+        while ((session = idleSessions.pollFirst()) != null) {
+            destroy(session);
+        }
+        if (!leasedSessions.isEmpty()) {
+            logger.warn("Shutting down driver pool with {} session(s) still leased", leasedSessions.size());
+            leasedSessions.values().forEach(this::destroy);
+            leasedSessions.clear();
+        }
+        logger.info("Driver session pool shut down");
+    }
+
+    public int getIdleCount() {
+        return idleSessions.size();
+    }
+
+    public int getLeasedCount() {
+        return leasedSessions.size();
+    }
+
+    /**
+     * Clear cookies, web storage and extra windows so the next scenario starts clean
+     */
+    private boolean reset(PooledSession session) {
+        WebDriver driver = session.driver;
+        try {
+            String primaryWindow = null;
+            for (String handle : driver.getWindowHandles()) {
+                if (primaryWindow == null) {
+                    primaryWindow = handle;
+                    continue;
+                }
+                driver.switchTo().window(handle).close();
+            }
+            if (primaryWindow != null) {
+                driver.switchTo().window(primaryWindow);
+            }
+            driver.manage().deleteAllCookies();
+            try {
+                ((JavascriptExecutor) driver).executeScript(
+                        "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            } catch (Exception e) {
+                logger.debug("Could not clear web storage: {}", e.getMessage());
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            logger.warn("Could not reset pooled WebDriver session, discarding it: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Take a healthy idle session, waiting for in-flight warm-ups rather than opening a new session
+     */
+    private PooledSession takeIdleSession() throws InterruptedException {
+        long waitStart = System.nanoTime();
+        boolean waited = false;
+        while (true) {
+            PooledSession session = idleSessions.pollFirst();
+            if (session == null && warmupsInFlight.get() > 0) {
+                waited = true;
+                session = idleSessions.pollFirst(100, TimeUnit.MILLISECONDS);
+                if (session == null) {
+                    continue;
+                }
+            }
+            if (session == null) {
+                return null;
+            }
+            if (isExpired(session) || !isHealthy(session)) {
+                destroy(session);
+                continue;
+            }
+            if (waited) {
+                RunMetrics.recordTime("driver.warmup.wait", System.nanoTime() - waitStart);
+            }
+            return session;
+        }
+    }
+
+    private boolean isHealthy(PooledSession session) {
+        try {
+            session.driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            logger.debug("Pooled WebDriver session failed health check: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isExpired(PooledSession session) {
+        return System.nanoTime() - session.lastReleased > idleTimeout.toNanos();
+    }
+
+    private void evictIdleSessions() {
+        try {
+            Iterator<PooledSession> iterator = idleSessions.descendingIterator();
+            while (iterator.hasNext()) {
+                PooledSession session = iterator.next();
+                if (isExpired(session) && idleSessions.remove(session)) {
+                    logger.debug("Evicting idle WebDriver session");
+                    destroy(session);
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Error evicting idle WebDriver sessions: {}", e.getMessage());
+        }
+    }
+
+    private void destroy(PooledSession session) {
+        quietQuit(session.driver);
+    }
+
+    private void quietQuit(WebDriver driver) {
+        try {
+            sessionCloser.accept(driver);
+        } catch (Exception e) {
+            logger.debug("Error quitting WebDriver session: {}", e.getMessage());
+        }
+    }
+
+    private static final class PooledSession {
+        private final WebDriver driver;
+        private int useCount;
+        private long lastReleased = System.nanoTime();
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+}
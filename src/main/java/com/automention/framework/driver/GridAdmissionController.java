@@ -0,0 +1,246 @@
+package com.automention.framework.driver;
+
+import com.automention.framework.config.ApplicationConfig;
+import com.automention.framework.utils.RunMetrics;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Grid Admission Controller
+ * Gates new session requests on free Grid slots per browser so scenarios queue in-process
+ * instead of holding Grid queue entries until they time out
+ */
+@Component
+public class GridAdmissionController {
+
+    private static final Logger logger = LogManager.getLogger(GridAdmissionController.class);
+
+    @Autowired
+    private ApplicationConfig config;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, BrowserGate> gates = new ConcurrentHashMap<>();
+    private HttpClient httpClient;
+    private ScheduledExecutorService refresher;
+
+    @PostConstruct
+    public void init() {
+        if (!config.isGridAdmissionEnabled()) {
+            logger.info("Grid admission control is disabled in configuration");
+            return;
+        }
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "grid-status-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        int period = Math.max(1, config.getGridStatusRefreshSeconds());
+        refresher.scheduleWithFixedDelay(this::refreshCapacity, period, period, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * Wait for a free Grid slot for the browser, recording the queue wait
+     */
+    public void acquire(String browser) {
+        if (!config.isGridAdmissionEnabled()) {
+            return;
+        }
+        BrowserGate gate = gateFor(browser);
+        long start = System.nanoTime();
+        try {
+            if (!gate.permits.tryAcquire(config.getTimeout() * 10L, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for a free Grid slot for browser: " + browser);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a free Grid slot", e);
+        }
+        gate.held.incrementAndGet();
+        long waited = System.nanoTime() - start;
+        RunMetrics.recordTime("grid.admission.wait", waited);
+        logger.debug("Admitted {} session after {} ms", browser, waited / 1_000_000);
+    }
+
+    /**
+     * Return a Grid slot once its session has been quit
+     */
+    public void release(String browser) {
+        if (!config.isGridAdmissionEnabled()) {
+            return;
+        }
+        BrowserGate gate = gateFor(browser);
+        if (gate.held.getAndUpdate(held -> Math.max(0, held - 1)) > 0) {
+            gate.permits.release();
+        }
+    }
+
+    private BrowserGate gateFor(String browser) {
+        return gates.computeIfAbsent(gateKey(browser), name -> {
+            int capacity = readFreeSlots(name);
+            if (capacity < 0) {
+                capacity = config.getGridMaxSessions();
+                logger.info("No Grid status for {}, using local capacity of {} slot(s)", name, capacity);
+            } else {
+                logger.info("Grid reports {} free slot(s) for {}", capacity, name);
+            }
+            RunMetrics.setValue("grid.capacity." + name, String.valueOf(capacity));
+            return new BrowserGate(Math.max(1, capacity));
+        });
+    }
+
+    /**
+     * Re-read Grid status and resize each gate to free slots plus the slots we already hold
+     */
+    private void refreshCapacity() {
+        gates.forEach((browser, gate) -> {
+            try {
+                int free = readFreeSlots(browser);
+                if (free < 0) {
+                    return;
+                }
+                synchronized (gate) {
+                    int target = Math.max(1, free + gate.held.get());
+                    int delta = target - gate.capacity;
+                    if (delta > 0) {
+                        gate.permits.release(delta);
+                    } else if (delta < 0) {
+                        gate.permits.reducePermits(-delta);
+                    }
+                    gate.capacity = target;
+                }
+                RunMetrics.setValue("grid.capacity." + browser, String.valueOf(gate.capacity));
+            } catch (Exception e) {
+                logger.debug("Error refreshing Grid capacity for {}: {}", browser, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Count free slots for a browser across all UP nodes, or -1 if /status cannot be read or
+     * no UP node has a slot for the browser
+     */
+    private int readFreeSlots(String browser) {
+        if (httpClient == null) {
+            return -1;
+        }
+        try {
+            HttpRequest request = HttpRequest.newBuilder(statusUri())
+                    .timeout(Duration.ofSeconds(2))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return -1;
+            }
+
+            int free = 0;
+            boolean advertised = false;
+            JsonNode nodes = objectMapper.readTree(response.body()).path("value").path("nodes");
+            for (JsonNode node : nodes) {
+                if (!"UP".equalsIgnoreCase(node.path("availability").asText())) {
+                    continue;
+                }
+                int busy = 0;
+                int freeForBrowser = 0;
+                for (JsonNode slot : node.path("slots")) {
+                    boolean inUse = !slot.path("session").isNull() && !slot.path("session").isMissingNode();
+                    boolean forBrowser = browser.equals(normalize(slot.path("stereotype").path("browserName").asText()));
+                    advertised |= forBrowser;
+                    if (inUse) {
+                        busy++;
+                    } else if (forBrowser) {
+                        freeForBrowser++;
+                    }
+                }
+                int nodeMax = node.path("maxSessions").asInt(Integer.MAX_VALUE);
+                free += Math.max(0, Math.min(freeForBrowser, nodeMax - busy));
+            }
+            return advertised ? free : -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } catch (Exception e) {
+            logger.debug("Could not read Grid status: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    private URI statusUri() {
+        String gridUrl = config.getSeleniumGridUrl();
+        if (gridUrl.endsWith("/")) {
+            gridUrl = gridUrl.substring(0, gridUrl.length() - 1);
+        }
+        if (gridUrl.endsWith("/wd/hub")) {
+            gridUrl = gridUrl.substring(0, gridUrl.length() - "/wd/hub".length());
+        }
+        return URI.create(gridUrl + "/status");
+    }
+
+    /**
+     * Browser a session is actually requested as: WebDriverManager runs any browser other than
+     * chrome, firefox and edge as Chrome, so those share Chrome's gate
+     */
+    private static String gateKey(String browser) {
+        String name = browser == null ? "" : browser.toLowerCase();
+        return switch (name) {
+            case "chrome", "firefox", "edge" -> name;
+            default -> "chrome";
+        };
+    }
+
+    private static String normalize(String browser) {
+        String name = browser == null ? "" : browser.toLowerCase();
+        return "microsoftedge".equals(name) ? "edge" : name;
+    }
+
+    private static final class ResizableSemaphore extends Semaphore {
+        private ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+
+    private static final class BrowserGate {
+        private final ResizableSemaphore permits;
+        private final AtomicInteger held = new AtomicInteger();
+        private int capacity;
+
+        private BrowserGate(int capacity) {
+            this.permits = new ResizableSemaphore(capacity);
+            this.capacity = capacity;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.automention.framework.driver;
+
+import com.automention.framework.config.ApplicationConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebElement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Wait Engine
+ * Single explicit wait implementation used with a zero implicit wait, so timeouts never stack.
+ * Polls with configurable interval and backoff and tracks the time each scenario spends waiting
+ */
+@Component
+public class WaitEngine {
+
+    private static final Logger logger = LogManager.getLogger(WaitEngine.class);
+
+    @Autowired
+    private ApplicationConfig config;
+
+    private final ThreadLocal<long[]> scenarioWaitNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Poll a condition until it returns a non-null, non-false value or the timeout expires
+     */
+    public <T> T until(String description, Duration timeout, Supplier<T> condition) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long pollingMillis = Math.max(1, config.getWaitPollingMillis());
+        RuntimeException lastError = null;
+        try {
+            while (true) {
+                try {
+                    T result = condition.get();
+                    if (result != null && !Boolean.FALSE.equals(result)) {
+                        return result;
+                    }
+                } catch (NotFoundException | StaleElementReferenceException | ElementNotInteractableException e) {
+                    lastError = e;
+                }
+
+                long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+                if (remainingMillis <= 0) {
+                    throw new TimeoutException("Timed out after " + timeout.toMillis() + " ms waiting for "
+                            + description, lastError);
+                }
+                sleep(Math.min(pollingMillis, remainingMillis));
+                pollingMillis = Math.min(config.getWaitMaxPollingMillis(),
+                        (long) Math.ceil(pollingMillis * config.getWaitBackoff()));
+            }
+        } finally {
+            long waited = System.nanoTime() - start;
+            scenarioWaitNanos.get()[0] += waited;
+        }
+    }
+
+    public <T> T until(String description, Supplier<T> condition) {
+        return until(description, defaultTimeout(), condition);
+    }
+
+    /**
+     * Wait for an element to be displayed
+     */
+    public WebElement visible(WebElement element, Duration timeout) {
+        return until("element visibility", timeout, () -> element.isDisplayed() ? element : null);
+    }
+
+    public WebElement visible(WebElement element) {
+        return visible(element, defaultTimeout());
+    }
+
+    /**
+     * Wait for an element to be displayed and enabled
+     */
+    public WebElement clickable(WebElement element) {
+        return until("element to be clickable", defaultTimeout(),
+                () -> element.isDisplayed() && element.isEnabled() ? element : null);
+    }
+
+    /**
+     * Race several candidate elements, checking each once per polling pass,
+     * and return the index of the first one displayed
+     */
+    public int firstVisible(Duration timeout, WebElement... candidates) {
+        return until("first of " + candidates.length + " candidates", timeout, () -> {
+            for (int i = 0; i < candidates.length; i++) {
+                try {
+                    if (candidates[i].isDisplayed()) {
+                        return i;
+                    }
+                } catch (NotFoundException | StaleElementReferenceException e) {
+                    logger.trace("Candidate {} not present yet", i);
+                }
+            }
+            return null;
+        });
+    }
+
+    public int firstVisible(WebElement... candidates) {
+        return firstVisible(defaultTimeout(), candidates);
+    }
+
+    /**
+     * Get and reset the time the current thread spent waiting since the last call
+     */
+    public long drainScenarioWaitNanos() {
+        long[] waited = scenarioWaitNanos.get();
+        long total = waited[0];
+        waited[0] = 0;
+        return total;
+    }
+
+    private Duration defaultTimeout() {
+        return Duration.ofSeconds(config.getTimeout());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+}
@@ -8,9 +8,13 @@ import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.Duration;
@@ -27,90 +31,177 @@ public class WebDriverManager {
     @Autowired
     private ApplicationConfig config;
 
+    @Autowired
+    private GridAdmissionController admissionController;
+
     private ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
 
+    private DriverSessionPool sessionPool;
+
+    @PostConstruct
+    public void initPool() {
+        if (config.isDriverPoolEnabled()) {
+            int maxSize = config.getDriverPoolMaxSize() > 0 ? config.getDriverPoolMaxSize() : config.getThreadCount();
+            sessionPool = new DriverSessionPool(this::createDriver, this::destroyDriver, maxSize, config.getDriverPoolMaxReuse(),
+                    Duration.ofSeconds(config.getDriverPoolIdleTimeout()), Duration.ofSeconds(config.getTimeout() * 10L));
+            logger.info("WebDriver session pool enabled (maxSize={}, maxReuse={})", maxSize, config.getDriverPoolMaxReuse());
+            if (config.isDriverPoolPrewarm()) {
+                logger.info("Warming up {} {} session(s) for {} test thread(s)",
+                        Math.min(config.getThreadCount(), maxSize), config.getBrowser(), config.getThreadCount());
+                sessionPool.prewarm(config.getThreadCount());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdownPool() {
+        if (sessionPool != null) {
+            sessionPool.shutdown();
+        }
+    }
+
     /**
-     * Initialize WebDriver using Selenium Grid
+     * Get WebDriver for the current thread, leasing a pooled session when enabled
      */
     public WebDriver getDriver() {
         WebDriver driver = driverThreadLocal.get();
-        
+
         if (driver == null) {
+            driver = sessionPool != null ? sessionPool.lease() : createDriver();
+            driverThreadLocal.set(driver);
+        }
+
+        return driver;
+    }
+
+    /**
+     * Initialize WebDriver using Selenium Grid
+     */
+    private WebDriver createDriver() {
+        try {
+            String gridUrl = config.getSeleniumGridUrl();
+            String browser = config.getBrowser().toLowerCase();
+            boolean headless = config.isHeadless();
+
+            org.openqa.selenium.MutableCapabilities capabilities;
+
+            switch (browser) {
+                case "chrome":
+                    ChromeOptions chromeOptions = new ChromeOptions();
+                    chromeOptions.addArguments("--start-maximized");
+                    chromeOptions.addArguments("--disable-notifications");
+                    chromeOptions.addArguments("--no-sandbox");
+                    chromeOptions.addArguments("--disable-dev-shm-usage");
+                    chromeOptions.addArguments("--disable-gpu");
+                    chromeOptions.addArguments("--disable-software-rasterizer");
+                    chromeOptions.addArguments("--disable-extensions");
+                    chromeOptions.addArguments("--remote-allow-origins=*");
+                    chromeOptions.setPageLoadStrategy(org.openqa.selenium.PageLoadStrategy.NORMAL);
+                    if (headless) {
+                        chromeOptions.addArguments("--headless=new");
+                    }
+                    capabilities = chromeOptions;
+                    break;
+
+                case "firefox":
+                    FirefoxOptions firefoxOptions = new FirefoxOptions();
+                    firefoxOptions.addArguments("--width=1920");
+                    firefoxOptions.addArguments("--height=1080");
+                    if (headless) {
+                        firefoxOptions.addArguments("--headless");
+                    }
+                    capabilities = firefoxOptions;
+                    break;
+
+                case "edge":
+                    EdgeOptions edgeOptions = new EdgeOptions();
+                    edgeOptions.addArguments("--start-maximized");
+                    edgeOptions.addArguments("--disable-dev-shm-usage");
+                    if (headless) {
+                        edgeOptions.addArguments("--headless=new");
+                    }
+                    capabilities = edgeOptions;
+                    break;
+
+                default:
+                    logger.warn("Unknown browser: {}. Defaulting to Chrome", browser);
+                    ChromeOptions defaultOptions = new ChromeOptions();
+                    defaultOptions.addArguments("--start-maximized");
+                    defaultOptions.addArguments("--no-sandbox");
+                    defaultOptions.addArguments("--disable-dev-shm-usage");
+                    capabilities = defaultOptions;
+            }
+
+            URL gridEndpoint = new URL(gridUrl);
+            admissionController.acquire(browser);
+            WebDriver driver = null;
             try {
-                String gridUrl = config.getSeleniumGridUrl();
-                String browser = config.getBrowser().toLowerCase();
-                boolean headless = config.isHeadless();
-
-                org.openqa.selenium.MutableCapabilities capabilities;
-
-                switch (browser) {
-                    case "chrome":
-                        ChromeOptions chromeOptions = new ChromeOptions();
-                        chromeOptions.addArguments("--start-maximized");
-                        chromeOptions.addArguments("--disable-notifications");
-                        chromeOptions.addArguments("--no-sandbox");
-                        chromeOptions.addArguments("--disable-dev-shm-usage");
-                        chromeOptions.addArguments("--disable-gpu");
-                        chromeOptions.addArguments("--disable-software-rasterizer");
-                        chromeOptions.addArguments("--disable-extensions");
-                        chromeOptions.addArguments("--remote-allow-origins=*");
-                        chromeOptions.setPageLoadStrategy(org.openqa.selenium.PageLoadStrategy.NORMAL);
-                        if (headless) {
-                            chromeOptions.addArguments("--headless=new");
-                        }
-                        capabilities = chromeOptions;
-                        break;
-
-                    case "firefox":
-                        FirefoxOptions firefoxOptions = new FirefoxOptions();
-                        firefoxOptions.addArguments("--width=1920");
-                        firefoxOptions.addArguments("--height=1080");
-                        if (headless) {
-                            firefoxOptions.addArguments("--headless");
-                        }
-                        capabilities = firefoxOptions;
-                        break;
-
-                    case "edge":
-                        EdgeOptions edgeOptions = new EdgeOptions();
-                        edgeOptions.addArguments("--start-maximized");
-                        edgeOptions.addArguments("--disable-dev-shm-usage");
-                        if (headless) {
-                            edgeOptions.addArguments("--headless=new");
-                        }
-                        capabilities = edgeOptions;
-                        break;
-
-                    default:
-                        logger.warn("Unknown browser: {}. Defaulting to Chrome", browser);
-                        ChromeOptions defaultOptions = new ChromeOptions();
-                        defaultOptions.addArguments("--start-maximized");
-                        defaultOptions.addArguments("--no-sandbox");
-                        defaultOptions.addArguments("--disable-dev-shm-usage");
-                        capabilities = defaultOptions;
+                driver = new RemoteWebDriver(gridEndpoint, capabilities);
+                if (config.isCommandMetricsEnabled()) {
+                    driver = new EventFiringDecorator<>(new CommandLatencyListener()).decorate(driver);
                 }
-
-                driver = new RemoteWebDriver(new URL(gridUrl), capabilities);
-                // Set timeouts - increase pageLoadTimeout for stability
-                driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+                // Set timeouts - implicit wait stays at zero, all waiting goes through WaitEngine
+                driver.manage().timeouts().implicitlyWait(Duration.ZERO);
                 driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(60));
                 driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(30));
-                try {
-                    driver.manage().window().maximize();
-                } catch (Exception e) {
-                    logger.warn("Could not maximize window: {}", e.getMessage());
+            } catch (RuntimeException e) {
+                // Don't leave a half-configured session on the Grid holding the admission slot
+                if (driver != null) {
+                    try {
+                        driver.quit();
+                    } catch (Exception quitError) {
+                        logger.warn("Could not quit WebDriver after failed setup: {}", quitError.getMessage());
+                    }
                 }
+                admissionController.release(browser);
+                throw e;
+            }
+            try {
+                driver.manage().window().maximize();
+            } catch (Exception e) {
+                logger.warn("Could not maximize window: {}", e.getMessage());
+            }
 
-                driverThreadLocal.set(driver);
-                logger.info("WebDriver initialized successfully for browser: {}", browser);
+            logger.info("WebDriver initialized successfully for browser: {}", browser);
+            return driver;
 
-            } catch (MalformedURLException e) {
-                logger.error("Error initializing WebDriver: {}", e.getMessage(), e);
-                throw new RuntimeException("Failed to initialize WebDriver", e);
-            }
+        } catch (MalformedURLException e) {
+            logger.error("Error initializing WebDriver: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to initialize WebDriver", e);
         }
+    }
 
-        return driver;
+    /**
+     * Quit a WebDriver session and free its Grid slot
+     */
+    private void destroyDriver(WebDriver driver) {
+        try {
+            driver.quit();
+        } finally {
+            admissionController.release(config.getBrowser());
+        }
+    }
+
+    /**
+     * Return WebDriver to the session pool, or quit it when pooling is disabled
+     */
+    public void releaseDriver() {
+        WebDriver driver = driverThreadLocal.get();
+        if (driver == null) {
+            return;
+        }
+        if (sessionPool == null) {
+            quitDriver();
+            return;
+        }
+        try {
+            sessionPool.release(driver);
+            logger.info("WebDriver returned to session pool");
+        } catch (Exception e) {
+            logger.error("Error releasing WebDriver: {}", e.getMessage(), e);
+        } finally {
+            driverThreadLocal.remove();
+        }
     }
 
     /**
@@ -120,7 +211,11 @@ public class WebDriverManager {
         WebDriver driver = driverThreadLocal.get();
         if (driver != null) {
             try {
-                driver.quit();
+                if (sessionPool != null) {
+                    sessionPool.invalidate(driver);
+                } else {
+                    destroyDriver(driver);
+                }
                 logger.info("WebDriver quit successfully");
             } catch (Exception e) {
                 logger.error("Error quitting WebDriver: {}", e.getMessage(), e);
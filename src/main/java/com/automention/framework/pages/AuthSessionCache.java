@@ -0,0 +1,141 @@
+package com.automention.framework.pages;
+
+import com.automention.framework.config.ApplicationConfig;
+import com.automention.framework.utils.RunMetrics;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Authenticated Session Cache
+ * Captures cookies and web storage after a UI login, once per worker thread and user,
+ * and replays them into later sessions so scenarios can skip the login form
+ */
+@Component
+public class AuthSessionCache {
+
+    private static final Logger logger = LogManager.getLogger(AuthSessionCache.class);
+
+    private static final String CAPTURE_STORAGE_SCRIPT =
+            "function dump(s) { var o = {}; for (var i = 0; i < s.length; i++) { var k = s.key(i); o[k] = s.getItem(k); } return o; }"
+            + "try { return [dump(window.localStorage), dump(window.sessionStorage)]; } catch (e) { return [{}, {}]; }";
+
+    private static final String RESTORE_STORAGE_SCRIPT =
+            "try {"
+            + "  var local = arguments[0], session = arguments[1];"
+            + "  for (var k in local) { window.localStorage.setItem(k, local[k]); }"
+            + "  for (var k in session) { window.sessionStorage.setItem(k, session[k]); }"
+            + "} catch (e) {}";
+
+    @Autowired
+    private ApplicationConfig config;
+
+    private final Map<String, AuthSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Capture the current browser's authenticated state for the worker and user
+     */
+    @SuppressWarnings("unchecked")
+    public void capture(WebDriver driver, String username) {
+        try {
+            Set<Cookie> cookies = driver.manage().getCookies();
+            Map<String, String> localStorage = new HashMap<>();
+            Map<String, String> sessionStorage = new HashMap<>();
+            Object storage = ((JavascriptExecutor) driver).executeScript(CAPTURE_STORAGE_SCRIPT);
+            if (storage instanceof List<?> dumps && dumps.size() == 2) {
+                localStorage.putAll((Map<String, String>) dumps.get(0));
+                sessionStorage.putAll((Map<String, String>) dumps.get(1));
+            }
+            snapshots.put(key(username), new AuthSnapshot(cookies, localStorage, sessionStorage,
+                    driver.getCurrentUrl(), System.currentTimeMillis()));
+            logger.info("Captured authenticated session for {} ({} cookie(s))", username, cookies.size());
+        } catch (Exception e) {
+            logger.warn("Could not capture authenticated session: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Replay a cached snapshot into the browser; returns false when there is none or it has expired
+     */
+    public boolean restore(WebDriver driver, String username) {
+        AuthSnapshot snapshot = snapshots.get(key(username));
+        if (snapshot == null) {
+            RunMetrics.increment("auth.snapshot.miss");
+            return false;
+        }
+        if (isExpired(snapshot)) {
+            logger.info("Authenticated session for {} has expired, a new login is needed", username);
+            invalidate(username);
+            RunMetrics.increment("auth.snapshot.miss");
+            return false;
+        }
+        try {
+            // Cookies can only be set while on the site's origin
+            driver.get(config.getWebUrl());
+            driver.manage().deleteAllCookies();
+            for (Cookie cookie : snapshot.cookies) {
+                driver.manage().addCookie(cookie);
+            }
+            ((JavascriptExecutor) driver).executeScript(RESTORE_STORAGE_SCRIPT,
+                    snapshot.localStorage, snapshot.sessionStorage);
+            driver.get(snapshot.landingUrl);
+            RunMetrics.increment("auth.snapshot.hit");
+            logger.info("Restored authenticated session for {}", username);
+            return true;
+        } catch (Exception e) {
+            logger.warn("Could not restore authenticated session: {}", e.getMessage());
+            invalidate(username);
+            RunMetrics.increment("auth.snapshot.miss");
+            return false;
+        }
+    }
+
+    /**
+     * Forget the worker's snapshot for the user so the next scenario logs in again
+     */
+    public void invalidate(String username) {
+        snapshots.remove(key(username));
+    }
+
+    private boolean isExpired(AuthSnapshot snapshot) {
+        long now = System.currentTimeMillis();
+        if (now - snapshot.capturedAt > config.getAuthSnapshotTtlSeconds() * 1000L) {
+            return true;
+        }
+        Date current = new Date(now);
+        return snapshot.cookies.stream()
+                .anyMatch(cookie -> cookie.getExpiry() != null && cookie.getExpiry().before(current));
+    }
+
+    private static String key(String username) {
+        return Thread.currentThread().getName() + "|" + username;
+    }
+
+    private static final class AuthSnapshot {
+        private final Set<Cookie> cookies;
+        private final Map<String, String> localStorage;
+        private final Map<String, String> sessionStorage;
+        private final String landingUrl;
+        private final long capturedAt;
+
+        private AuthSnapshot(Set<Cookie> cookies, Map<String, String> localStorage,
+                             Map<String, String> sessionStorage, String landingUrl, long capturedAt) {
+            this.cookies = cookies;
+            this.localStorage = localStorage;
+            this.sessionStorage = sessionStorage;
+            this.landingUrl = landingUrl;
+            this.capturedAt = capturedAt;
+        }
+    }
+}
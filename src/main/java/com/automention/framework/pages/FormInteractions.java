@@ -0,0 +1,202 @@
+package com.automention.framework.pages;
+
+import com.automention.framework.config.ApplicationConfig;
+import com.automention.framework.driver.WaitEngine;
+import com.automention.framework.driver.WebDriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Form Interactions
+ * Fills several fields and triggers submit in a single executeScript round trip,
+ * with a fallback to native WebDriver events when a test needs real key events
+ */
+@Component
+public class FormInteractions {
+
+    private static final Logger logger = LogManager.getLogger(FormInteractions.class);
+
+    /**
+     * Locates every element first so nothing is typed unless the whole form is ready,
+     * then sets values through the native setter and fires input/change events
+     */
+    private static final String FILL_AND_SUBMIT_SCRIPT =
+            "var fields = arguments[0], submit = arguments[1];"
+            + "function find(l) {"
+            + "  var v = l[1];"
+            + "  switch (l[0]) {"
+            + "    case 'css selector': return document.querySelector(v);"
+            + "    case 'xpath': return document.evaluate(v, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "    case 'tag name': return document.getElementsByTagName(v)[0] || null;"
+            + "    case 'link text': case 'partial link text':"
+            + "      var links = document.getElementsByTagName('a');"
+            + "      for (var i = 0; i < links.length; i++) {"
+            + "        var t = links[i].textContent.trim();"
+            + "        if (l[0] === 'link text' ? t === v : t.indexOf(v) >= 0) { return links[i]; }"
+            + "      }"
+            + "      return null;"
+            + "  }"
+            + "  return null;"
+            + "}"
+            + "function usable(e) { return e && e.getClientRects().length > 0 && !e.disabled; }"
+            + "var elements = [];"
+            + "for (var i = 0; i < fields.length; i++) {"
+            + "  var e = find(fields[i]);"
+            + "  if (!usable(e)) { return 'not ready: ' + fields[i][0] + '=' + fields[i][1]; }"
+            + "  elements.push(e);"
+            + "}"
+            + "var button = submit ? find(submit) : null;"
+            + "if (submit && !usable(button)) { return 'not ready: ' + submit[0] + '=' + submit[1]; }"
+            + "for (var i = 0; i < elements.length; i++) {"
+            + "  var e = elements[i], proto = Object.getPrototypeOf(e);"
+            + "  var setter = Object.getOwnPropertyDescriptor(proto, 'value');"
+            + "  e.focus();"
+            + "  if (setter && setter.set) { setter.set.call(e, fields[i][2]); } else { e.value = fields[i][2]; }"
+            + "  e.dispatchEvent(new Event('input', { bubbles: true }));"
+            + "  e.dispatchEvent(new Event('change', { bubbles: true }));"
+            + "  e.blur();"
+            + "}"
+            + "if (button) { button.click(); }"
+            + "return null;";
+
+    @Autowired
+    private WebDriverManager webDriverManager;
+
+    @Autowired
+    private WaitEngine waitEngine;
+
+    @Autowired
+    private ApplicationConfig config;
+
+    /**
+     * Start a new batched form interaction
+     */
+    public FormBatch form() {
+        return new FormBatch(config.isNativeFormEvents());
+    }
+
+    /**
+     * Fields to fill and an optional submit element, executed together
+     */
+    public class FormBatch {
+
+        private final Map<By, String> fields = new LinkedHashMap<>();
+        private By submitLocator;
+        private boolean nativeEvents;
+
+        private FormBatch(boolean nativeEvents) {
+            this.nativeEvents = nativeEvents;
+        }
+
+        public FormBatch fill(By locator, String value) {
+            fields.put(locator, value);
+            return this;
+        }
+
+        public FormBatch submit(By locator) {
+            this.submitLocator = locator;
+            return this;
+        }
+
+        /**
+         * Fill a page object field; the element must be an injected PageElement handle
+         */
+        public FormBatch fill(WebElement element, String value) {
+            return fill(locatorOf(element), value);
+        }
+
+        public FormBatch submit(WebElement element) {
+            return submit(locatorOf(element));
+        }
+
+        /**
+         * Use real WebDriver key and click events instead of the batched script
+         */
+        public FormBatch nativeEvents() {
+            this.nativeEvents = true;
+            return this;
+        }
+
+        /**
+         * Fill all fields and click submit, waiting until the whole form is ready
+         */
+        public void execute() {
+            WebDriver driver = webDriverManager.getDriver();
+            if (nativeEvents || !(driver instanceof JavascriptExecutor)) {
+                executeNative(driver);
+                return;
+            }
+
+            List<List<String>> fieldArgs = new ArrayList<>();
+            fields.forEach((locator, value) -> {
+                List<String> field = new ArrayList<>(toRemote(locator));
+                field.add(value != null ? value : "");
+                fieldArgs.add(field);
+            });
+            List<String> submitArg = submitLocator != null ? toRemote(submitLocator) : null;
+
+            JavascriptExecutor executor = (JavascriptExecutor) driver;
+            waitEngine.until("form to be ready", () -> {
+                Object result = executor.executeScript(FILL_AND_SUBMIT_SCRIPT, fieldArgs, submitArg);
+                if (result != null) {
+                    logger.trace("Batched form fill deferred: {}", result);
+                    return false;
+                }
+                return true;
+            });
+            logger.debug("Filled {} field(s){} in one script call", fields.size(),
+                    submitLocator != null ? " and submitted" : "");
+        }
+
+        private void executeNative(WebDriver driver) {
+            fields.forEach((locator, value) -> {
+                WebElement element = waitEngine.until("field " + locator, () -> {
+                    WebElement candidate = driver.findElement(locator);
+                    return candidate.isDisplayed() ? candidate : null;
+                });
+                element.clear();
+                element.sendKeys(value);
+            });
+            if (submitLocator != null) {
+                WebElement button = waitEngine.until("submit " + submitLocator, () -> {
+                    WebElement candidate = driver.findElement(submitLocator);
+                    return candidate.isDisplayed() && candidate.isEnabled() ? candidate : null;
+                });
+                button.click();
+            }
+            logger.debug("Filled {} field(s) using native events", fields.size());
+        }
+    }
+
+    private static By locatorOf(WebElement element) {
+        if (!(element instanceof PageElement)) {
+            throw new IllegalArgumentException("Batched form fills need PageElement handles, got: " + element);
+        }
+        return ((PageElement) element).getLocator();
+    }
+
+    /**
+     * Convert a locator to its W3C strategy and value, e.g. By.id("x") becomes ["css selector", "#x"]
+     */
+    private static List<String> toRemote(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            throw new IllegalArgumentException("Locator cannot be used in a batched form fill: " + locator);
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        List<String> remote = new ArrayList<>();
+        remote.add(parameters.using());
+        remote.add(String.valueOf(parameters.value()));
+        return remote;
+    }
+}
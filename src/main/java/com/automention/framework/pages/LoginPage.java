@@ -1,15 +1,15 @@
 package com.automention.framework.pages;
 
+import com.automention.framework.config.ApplicationConfig;
+import com.automention.framework.driver.WaitEngine;
 import com.automention.framework.driver.WebDriverManager;
 import io.cucumber.spring.ScenarioScope;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -25,9 +25,26 @@ public class LoginPage {
 
     private static final Logger logger = LogManager.getLogger(LoginPage.class);
 
+    @Autowired
+    private ScenarioOutcome scenarioOutcome;
+
+    @Autowired
+    private WaitEngine waitEngine;
+
+    @Autowired
+    private FormInteractions formInteractions;
+
+    @Autowired
+    private AuthSessionCache authSessionCache;
+
     @Autowired
     private WebDriverManager webDriverManager;
 
+    @Autowired
+    private ApplicationConfig config;
+
+    // Element handles below are injected by PageElementInjector and resolved once per scenario
+
     @FindBy(id = "username")
     private WebElement usernameField;
 
@@ -53,27 +70,18 @@ public class LoginPage {
     @FindBy(xpath = "//div[contains(@class, 'error') or contains(@id, 'error')]")
     private WebElement errorMessageByXpath;
 
-    private WebDriver driver;
-    private WebDriverWait wait;
+    @FindBy(xpath = "//*[contains(text(), 'password is invalid') or contains(text(), 'Password is invalid') or contains(text(), 'invalid')]")
+    private WebElement errorMessageByText;
 
-    /**
-     * Initialize page elements
-     */
-    public void initElements() {
-        driver = webDriverManager.getDriver();
-        PageFactory.initElements(driver, this);
-        wait = new WebDriverWait(driver, Duration.ofSeconds(30));
-    }
+    private static final Duration ERROR_MESSAGE_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration AUTH_CHECK_TIMEOUT = Duration.ofSeconds(10);
 
     /**
      * Enter username
      */
     public void enterUsername(String username) {
         try {
-            if (wait == null || driver == null) {
-                initElements();
-            }
-            wait.until(ExpectedConditions.visibilityOf(usernameField));
+            waitEngine.visible(usernameField);
             usernameField.clear();
             usernameField.sendKeys(username);
             logger.info("Username entered: {}", username);
@@ -88,10 +96,7 @@ public class LoginPage {
      */
     public void enterPassword(String password) {
         try {
-            if (wait == null || driver == null) {
-                initElements();
-            }
-            wait.until(ExpectedConditions.visibilityOf(passwordField));
+            waitEngine.visible(passwordField);
             passwordField.clear();
             passwordField.sendKeys(password);
             logger.info("Password entered");
@@ -106,10 +111,7 @@ public class LoginPage {
      */
     public void clickSubmit() {
         try {
-            if (wait == null || driver == null) {
-                initElements();
-            }
-            wait.until(ExpectedConditions.elementToBeClickable(submitButton));
+            waitEngine.clickable(submitButton);
             submitButton.click();
             logger.info("Submit button clicked");
         } catch (Exception e) {
@@ -119,13 +121,63 @@ public class LoginPage {
     }
 
     /**
-     * Perform login
+     * Enter username and password in a single round trip
+     */
+    public void enterCredentials(String username, String password) {
+        try {
+            formInteractions.form()
+                    .fill(usernameField, username)
+                    .fill(passwordField, password)
+                    .execute();
+            logger.info("Credentials entered for username: {}", username);
+        } catch (Exception e) {
+            logger.error("Error entering credentials: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Perform login (fill and submit in a single round trip)
      */
     public void login(String username, String password) {
-        initElements();
-        enterUsername(username);
-        enterPassword(password);
-        clickSubmit();
+        try {
+            formInteractions.form()
+                    .fill(usernameField, username)
+                    .fill(passwordField, password)
+                    .submit(submitButton)
+                    .execute();
+            logger.info("Login submitted for username: {}", username);
+        } catch (Exception e) {
+            logger.error("Error performing login: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Make sure the browser is logged in, replaying the worker's cached session when possible
+     * and falling back to a UI login (which refreshes the cache)
+     */
+    public void ensureLoggedIn(String username, String password) {
+        WebDriver driver = webDriverManager.getDriver();
+        if (authSessionCache.restore(driver, username)) {
+            try {
+                if (waitEngine.firstVisible(AUTH_CHECK_TIMEOUT, successMessage, usernameField) == 0) {
+                    logger.info("Logged in from cached session for username: {}", username);
+                    return;
+                }
+            } catch (TimeoutException e) {
+                logger.debug("Restored session state could not be verified: {}", e.getMessage());
+            }
+            logger.info("Cached session for {} is no longer valid, logging in again", username);
+            authSessionCache.invalidate(username);
+        }
+
+        driver.get(config.getWebUrl());
+        login(username, password);
+        if (!verifyLoginSuccess()) {
+            throw new IllegalStateException("Login failed for username: " + username);
+        }
+        authSessionCache.capture(driver, username);
     }
 
     /**
@@ -133,9 +185,9 @@ public class LoginPage {
      */
     public boolean verifyLoginSuccess() {
         try {
-            initElements();
-            wait.until(ExpectedConditions.visibilityOf(successMessage));
-            boolean isDisplayed = successMessage.isDisplayed();
+            // Race the success message against the error message so failed logins return early
+            int first = waitEngine.firstVisible(successMessage, errorMessageById, errorMessageByClass);
+            boolean isDisplayed = first == 0;
             logger.info("Login success verification: {}", isDisplayed);
             return isDisplayed;
         } catch (Exception e) {
@@ -149,9 +201,10 @@ public class LoginPage {
      */
     public String getSuccessMessage() {
         try {
-            initElements();
-            wait.until(ExpectedConditions.visibilityOf(successMessage));
-            return successMessage.getText();
+            waitEngine.visible(successMessage);
+            String successText = successMessage.getText();
+            scenarioOutcome.publish("LoginPage", ScenarioOutcome.MessageType.SUCCESS, successText);
+            return successText;
         } catch (Exception e) {
             logger.error("Error getting success message: {}", e.getMessage(), e);
             return "";
@@ -159,39 +212,14 @@ public class LoginPage {
     }
 
     /**
-     * Get error message element (tries multiple selectors)
+     * Get error message element (races multiple selectors in one polling pass)
      */
     private WebElement getErrorMessageElement() {
-        initElements();
-        WebDriverWait shortWait = new WebDriverWait(driver, Duration.ofSeconds(5));
-        
-        // Try to find error message using multiple selectors
-        try {
-            shortWait.until(ExpectedConditions.visibilityOf(errorMessageById));
-            return errorMessageById;
-        } catch (Exception e) {
-            logger.debug("Error message not found by id, trying class name");
-        }
-        
-        try {
-            shortWait.until(ExpectedConditions.visibilityOf(errorMessageByClass));
-            return errorMessageByClass;
-        } catch (Exception e) {
-            logger.debug("Error message not found by class, trying xpath");
-        }
-        
-        try {
-            shortWait.until(ExpectedConditions.visibilityOf(errorMessageByXpath));
-            return errorMessageByXpath;
-        } catch (Exception e) {
-            logger.debug("Error message not found by xpath, trying text-based search");
-        }
-        
-        // Last resort: try to find by text content
+        WebElement[] candidates = {errorMessageById, errorMessageByClass, errorMessageByXpath, errorMessageByText};
         try {
-            org.openqa.selenium.By byText = org.openqa.selenium.By.xpath("//*[contains(text(), 'password is invalid') or contains(text(), 'Password is invalid') or contains(text(), 'invalid')]");
-            shortWait.until(ExpectedConditions.presenceOfElementLocated(byText));
-            return driver.findElement(byText);
+            int index = waitEngine.firstVisible(ERROR_MESSAGE_TIMEOUT, candidates);
+            logger.debug("Error message found by selector #{}", index);
+            return candidates[index];
         } catch (Exception e) {
             logger.error("Could not find error message element using any selector");
             throw new org.openqa.selenium.NoSuchElementException("Error message element not found");
@@ -206,6 +234,7 @@ public class LoginPage {
             WebElement errorElement = getErrorMessageElement();
             String errorText = errorElement.getText();
             logger.info("Error message found: {}", errorText);
+            scenarioOutcome.publish("LoginPage", ScenarioOutcome.MessageType.ERROR, errorText);
             return errorText;
         } catch (Exception e) {
             logger.error("Error getting error message: {}", e.getMessage(), e);
@@ -233,8 +262,7 @@ public class LoginPage {
      */
     public void logout() {
         try {
-            initElements();
-            wait.until(ExpectedConditions.elementToBeClickable(logoutLink));
+            waitEngine.clickable(logoutLink);
             logoutLink.click();
             logger.info("Logout performed successfully");
         } catch (Exception e) {
@@ -0,0 +1,110 @@
+package com.automention.framework.pages;
+
+import com.automention.framework.driver.WebDriverManager;
+import io.cucumber.spring.ScenarioScope;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Page Element Injector
+ * Replaces PageFactory for @ScenarioScope page objects: @FindBy field metadata is scanned
+ * once per class and cached, and each new page instance gets lazy PageElement handles
+ */
+@Component
+public class PageElementInjector implements BeanPostProcessor {
+
+    private static final Logger logger = LogManager.getLogger(PageElementInjector.class);
+
+    private static final ClassValue<List<LocatedField>> METADATA = new ClassValue<>() {
+        @Override
+        protected List<LocatedField> computeValue(Class<?> type) {
+            return scan(type);
+        }
+    };
+
+    @Autowired
+    private ObjectProvider<WebDriverManager> webDriverManagerProvider;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (AopUtils.isAopProxy(bean)
+                || !AnnotatedElementUtils.hasAnnotation(bean.getClass(), ScenarioScope.class)) {
+            return bean;
+        }
+        List<LocatedField> fields = METADATA.get(bean.getClass());
+        if (!fields.isEmpty()) {
+            injectElements(bean, fields, () -> webDriverManagerProvider.getObject().getDriver());
+        }
+        return bean;
+    }
+
+    /**
+     * Assign element handles to a page object's locator fields using the cached metadata
+     */
+    public static void injectElements(Object page, Supplier<WebDriver> driverSupplier) {
+        injectElements(page, METADATA.get(page.getClass()), driverSupplier);
+    }
+
+    private static void injectElements(Object page, List<LocatedField> fields, Supplier<WebDriver> driverSupplier) {
+        for (LocatedField located : fields) {
+            try {
+                located.field.set(page, new PageElement(located.locator, driverSupplier));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot inject element into " + located.field, e);
+            }
+        }
+    }
+
+    private static List<LocatedField> scan(Class<?> type) {
+        List<LocatedField> fields = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                boolean annotated = field.isAnnotationPresent(FindBy.class)
+                        || field.isAnnotationPresent(FindBys.class)
+                        || field.isAnnotationPresent(FindAll.class);
+                if (!annotated) {
+                    continue;
+                }
+                if (field.getType() != WebElement.class) {
+                    logger.warn("Skipping locator field {}.{}: only WebElement fields are supported",
+                            current.getSimpleName(), field.getName());
+                    continue;
+                }
+                field.setAccessible(true);
+                fields.add(new LocatedField(field, new Annotations(field).buildBy()));
+            }
+        }
+        logger.debug("Scanned {} locator field(s) on {}", fields.size(), type.getSimpleName());
+        return Collections.unmodifiableList(fields);
+    }
+
+    private static final class LocatedField {
+        private final Field field;
+        private final By locator;
+
+        private LocatedField(Field field, By locator) {
+            this.field = field;
+            this.locator = locator;
+        }
+    }
+}
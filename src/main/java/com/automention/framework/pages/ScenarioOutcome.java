@@ -0,0 +1,61 @@
+package com.automention.framework.pages;
+
+import io.cucumber.spring.ScenarioScope;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Scenario Outcome
+ * Page objects publish outcome messages here as they read them from the page,
+ * so hooks can report them without touching the browser
+ */
+@Component
+@ScenarioScope
+public class ScenarioOutcome {
+
+    private static final Logger logger = LogManager.getLogger(ScenarioOutcome.class);
+
+    public enum MessageType {
+        SUCCESS,
+        ERROR
+    }
+
+    public record OutcomeMessage(String page, MessageType type, String text) {
+    }
+
+    private final List<OutcomeMessage> messages = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Publish an outcome message observed by a page object
+     */
+    public void publish(String page, MessageType type, String text) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        messages.add(new OutcomeMessage(page, type, text));
+        logger.debug("Outcome published by {}: {} - {}", page, type, text);
+    }
+
+    /**
+     * Get the most recently published message text, or null if none was published
+     */
+    public String getLatestMessage() {
+        synchronized (messages) {
+            return messages.isEmpty() ? null : messages.get(messages.size() - 1).text();
+        }
+    }
+
+    /**
+     * Get all published messages in publish order
+     */
+    public List<OutcomeMessage> getMessages() {
+        synchronized (messages) {
+            return new ArrayList<>(messages);
+        }
+    }
+}
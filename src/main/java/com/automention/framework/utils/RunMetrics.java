@@ -0,0 +1,98 @@
+package com.automention.framework.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Run Metrics Registry
+ * Collects suite-wide counters and timings so listeners can print them in the run summary
+ */
+public final class RunMetrics {
+
+    private static final Map<String, LongAdder> counters = new ConcurrentSkipListMap<>();
+    private static final Map<String, Timing> timings = new ConcurrentSkipListMap<>();
+    private static final Map<String, String> values = new ConcurrentSkipListMap<>();
+
+    private RunMetrics() {
+    }
+
+    /**
+     * Increment a counter by one
+     */
+    public static void increment(String name) {
+        add(name, 1);
+    }
+
+    /**
+     * Add an amount to a counter
+     */
+    public static void add(String name, long amount) {
+        counters.computeIfAbsent(name, k -> new LongAdder()).add(amount);
+    }
+
+    /**
+     * Record one timed event in nanoseconds
+     */
+    public static void recordTime(String name, long nanos) {
+        timings.computeIfAbsent(name, k -> new Timing()).record(nanos);
+    }
+
+    /**
+     * Set a named value (e.g. a component state) shown as-is in the summary
+     */
+    public static void setValue(String name, String value) {
+        values.put(name, value);
+    }
+
+    public static long getCount(String name) {
+        LongAdder counter = counters.get(name);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    public static String getValue(String name) {
+        return values.get(name);
+    }
+
+    /**
+     * Get a printable snapshot of all metrics, sorted by name
+     */
+    public static Map<String, String> snapshot() {
+        Map<String, String> snapshot = new LinkedHashMap<>();
+        counters.forEach((name, counter) -> snapshot.put(name, String.valueOf(counter.sum())));
+        timings.forEach((name, timing) -> snapshot.put(name, timing.toString()));
+        values.forEach(snapshot::put);
+        return snapshot;
+    }
+
+    /**
+     * Clear all metrics
+     */
+    public static void reset() {
+        counters.clear();
+        timings.clear();
+        values.clear();
+    }
+
+    private static final class Timing {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        @Override
+        public String toString() {
+            long n = count.sum();
+            long totalMs = totalNanos.sum() / 1_000_000;
+            long avgMs = n > 0 ? totalMs / n : 0;
+            return String.format("count=%d total=%dms avg=%dms max=%dms", n, totalMs, avgMs, maxNanos.get() / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.automention.framework.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Content-Addressed Screenshot Store
+ * Stores each unique image once under its SHA-256 hash, optionally re-encoding it on a
+ * background thread, and hands out stable "sha256:&lt;hex&gt;" references instead of file paths
+ */
+@Component
+public class ScreenshotStore {
+
+    private static final Logger logger = LogManager.getLogger(ScreenshotStore.class);
+    private static final String REFERENCE_PREFIX = "sha256:";
+
+    public enum Encoding {
+        NONE("png"),
+        PNG("png"),
+        JPEG("jpg");
+
+        private final String extension;
+
+        Encoding(String extension) {
+            this.extension = extension;
+        }
+    }
+
+    @Value("${report.screenshot.path}")
+    private String screenshotPath;
+
+    @Value("${report.screenshot.encoding:NONE}")
+    private Encoding encoding;
+
+    @Value("${report.screenshot.jpeg.quality:0.8}")
+    private float jpegQuality;
+
+    private final Map<String, byte[]> pending = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> known = new ConcurrentHashMap<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "screenshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Wait for queued writes before the context closes
+     */
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Timed out waiting for {} screenshot write(s)", pending.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Store an image and return its reference; identical images are stored only once
+     */
+    public String put(String name, byte[] image) {
+        String hash = sha256(image);
+        String reference = REFERENCE_PREFIX + hash;
+        // pending is the gate: a thread that loses it reads the winner's bytes until they are on disk
+        boolean isNew = !known.containsKey(hash) && findStored(hash) == null && pending.putIfAbsent(hash, image) == null;
+        if (isNew) {
+            known.put(hash, Boolean.TRUE);
+            RunMetrics.increment("screenshot.stored");
+        } else {
+            RunMetrics.increment("screenshot.deduplicated");
+        }
+        writer.execute(() -> {
+            try {
+                if (isNew) {
+                    write(hash, image);
+                }
+                appendManifest(name, reference);
+            } catch (IOException e) {
+                logger.error("Error writing screenshot {}: {}", reference, e.getMessage(), e);
+                if (isNew) {
+                    known.remove(hash);
+                }
+            } finally {
+                if (isNew) {
+                    pending.remove(hash);
+                }
+            }
+        });
+        return reference;
+    }
+
+    /**
+     * Get an image's bytes, from memory while its write is still queued
+     */
+    public byte[] get(String reference) throws IOException {
+        byte[] image = pending.get(hashOf(reference));
+        return image != null ? image : Files.readAllBytes(resolve(reference));
+    }
+
+    /**
+     * Open an image for streaming, from memory while its write is still queued
+     */
+    public InputStream openStream(String reference) throws IOException {
+        byte[] image = pending.get(hashOf(reference));
+        return image != null ? new ByteArrayInputStream(image) : Files.newInputStream(resolve(reference));
+    }
+
+    /**
+     * Scale an image down to the given width and return it as a small JPEG
+     */
+    public byte[] thumbnail(String reference, int width) throws IOException {
+        BufferedImage image;
+        try (InputStream input = openStream(reference)) {
+            image = ImageIO.read(input);
+        }
+        if (image == null) {
+            throw new IOException("Unreadable screenshot: " + reference);
+        }
+        int targetWidth = Math.min(width, image.getWidth());
+        int targetHeight = Math.max(1, image.getHeight() * targetWidth / image.getWidth());
+        BufferedImage scaled = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(scaled, "jpg", output);
+        return output.toByteArray();
+    }
+
+    /**
+     * Resolve a reference to the file it is stored in, whatever encoding it was stored with, or
+     * to the file it will be stored in under the current encoding
+     */
+    public Path resolve(String reference) {
+        String hash = hashOf(reference);
+        Path stored = findStored(hash);
+        return stored != null ? stored : pathFor(hash, encoding);
+    }
+
+    /**
+     * Existing file for a hash under any encoding's extension, or null
+     */
+    private Path findStored(String hash) {
+        for (Encoding candidate : Encoding.values()) {
+            Path path = pathFor(hash, candidate);
+            if (Files.exists(path)) {
+                return path;
+            }
+        }
+        return null;
+    }
+
+    private Path pathFor(String hash, Encoding target) {
+        return Paths.get(screenshotPath, hash.substring(0, 2), hash + "." + target.extension).toAbsolutePath();
+    }
+
+    private void write(String hash, byte[] image) throws IOException {
+        Path target = pathFor(hash, encoding);
+        Files.createDirectories(target.getParent());
+        byte[] encoded = encode(image);
+        // Write to a temp file and move it so parallel runs never see a half-written image
+        Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+        Files.write(temp, encoded);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.info("Screenshot stored: {} ({} -> {} bytes)", target, image.length, encoded.length);
+    }
+
+    private byte[] encode(byte[] png) throws IOException {
+        if (encoding == Encoding.NONE) {
+            return png;
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            return png;
+        }
+        if (encoding == Encoding.JPEG && image.getColorModel().hasAlpha()) {
+            BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            rgb.getGraphics().drawImage(image, 0, 0, null);
+            image = rgb;
+        }
+
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersBySuffix(encoding.extension);
+        if (!writers.hasNext()) {
+            return png;
+        }
+        ImageWriter imageWriter = writers.next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream(png.length);
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+            imageWriter.setOutput(stream);
+            ImageWriteParam param = imageWriter.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                // For PNG a quality of 0 selects the strongest (still lossless) deflate level
+                param.setCompressionQuality(encoding == Encoding.JPEG ? jpegQuality : 0f);
+            }
+            imageWriter.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            imageWriter.dispose();
+        }
+        byte[] encoded = output.toByteArray();
+        return encoding == Encoding.PNG && encoded.length >= png.length ? png : encoded;
+    }
+
+    /**
+     * Record which screenshot names map to which references so stored images stay discoverable
+     */
+    private void appendManifest(String name, String reference) throws IOException {
+        Path manifest = Paths.get(screenshotPath, "manifest.tsv");
+        Files.createDirectories(manifest.getParent());
+        String line = LocalDateTime.now() + "\t" + name + "\t" + reference + System.lineSeparator();
+        Files.write(manifest, line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static String hashOf(String reference) {
+        if (reference == null || !reference.startsWith(REFERENCE_PREFIX)) {
+            throw new IllegalArgumentException("Not a screenshot reference: " + reference);
+        }
+        return reference.substring(REFERENCE_PREFIX.length());
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.automention.framework.utils;
 
 import com.automention.framework.driver.WebDriverManager;
-import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.OutputType;
@@ -11,90 +10,156 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
 
 /**
  * Screenshot Utility
- * Captures screenshots during test execution
+ * Captures screenshots in memory into a bounded per-scenario ring buffer and hands them to
+ * the ScreenshotStore only when the scenario fails or the capture policy says so.
+ * Screenshots are identified by store references rather than file paths
  */
 @Component
 public class ScreenshotUtil {
 
     private static final Logger logger = LogManager.getLogger(ScreenshotUtil.class);
 
+    public enum CapturePolicy {
+        ON_FAILURE,
+        ALWAYS,
+        NEVER
+    }
+
     @Autowired
     private WebDriverManager webDriverManager;
 
-    @Value("${report.screenshot.path}")
-    private String screenshotPath;
+    @Autowired
+    private ScreenshotStore screenshotStore;
+
+    @Value("${report.screenshot.buffer.size:5}")
+    private int bufferSize;
+
+    @Value("${report.screenshot.policy:ON_FAILURE}")
+    private CapturePolicy capturePolicy;
+
+    private final ThreadLocal<ArrayDeque<BufferedScreenshot>> scenarioBuffer = ThreadLocal.withInitial(ArrayDeque::new);
 
     /**
-     * Capture screenshot and save to file
+     * Capture a step screenshot into the current scenario's ring buffer (no disk I/O)
      */
-    public String captureScreenshot(String testName) {
+    public void captureStep(String stepName) {
+        byte[] image = captureBytes();
+        if (image == null) {
+            return;
+        }
+        ArrayDeque<BufferedScreenshot> buffer = scenarioBuffer.get();
+        if (buffer.size() >= Math.max(1, bufferSize)) {
+            buffer.pollFirst();
+        }
+        buffer.addLast(new BufferedScreenshot(stepName, timestamp(), image));
+    }
+
+    /**
+     * Capture the final screenshot and flush the scenario's buffer if it failed or the policy requires it
+     * Returns the final screenshot's store reference, or null if nothing is kept
+     */
+    public String finishScenario(String testName, boolean failed) {
         try {
-            WebDriver driver = webDriverManager.getCurrentDriver();
-            if (driver == null) {
-                logger.warn("WebDriver is null, cannot capture screenshot");
+            // Decide first: a passing scenario under ON_FAILURE never pays for the final capture
+            boolean keep = capturePolicy == CapturePolicy.ALWAYS || (failed && capturePolicy != CapturePolicy.NEVER);
+            if (!keep) {
+                return null;
+            }
+            captureStep(testName);
+            ArrayDeque<BufferedScreenshot> buffer = scenarioBuffer.get();
+            if (buffer.isEmpty()) {
                 return null;
             }
 
-            TakesScreenshot takesScreenshot = (TakesScreenshot) driver;
-            File sourceFile = takesScreenshot.getScreenshotAs(OutputType.FILE);
-
-            // Create directory if it doesn't exist
-            File directory = new File(screenshotPath);
-            if (!directory.exists()) {
-                directory.mkdirs();
+            String finalReference = null;
+            for (BufferedScreenshot screenshot : buffer) {
+                finalReference = screenshotStore.put(screenshot.name + "_" + screenshot.timestamp, screenshot.image);
             }
+            logger.info("Flushing {} buffered screenshot(s) for {}", buffer.size(), testName);
+            return finalReference;
+        } finally {
+            scenarioBuffer.get().clear();
+        }
+    }
 
-            // Generate filename with timestamp
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String fileName = testName + "_" + timestamp + ".png";
-            File destinationFile = new File(screenshotPath + fileName);
+    /**
+     * Drop any screenshots buffered by a previous scenario on this thread
+     */
+    public void startScenario() {
+        scenarioBuffer.get().clear();
+    }
 
-            FileUtils.copyFile(sourceFile, destinationFile);
-            logger.info("Screenshot captured: {}", destinationFile.getAbsolutePath());
+    /**
+     * Open a screenshot for streaming by store reference
+     */
+    public InputStream openScreenshot(String reference) throws IOException {
+        return screenshotStore.openStream(reference);
+    }
 
-            return destinationFile.getAbsolutePath();
-        } catch (IOException e) {
-            logger.error("Error capturing screenshot: {}", e.getMessage(), e);
+    /**
+     * Get a small JPEG thumbnail of a screenshot by store reference
+     */
+    public byte[] thumbnail(String reference, int width) throws IOException {
+        return screenshotStore.thumbnail(reference, width);
+    }
+
+    /**
+     * Capture screenshot and store it, returning its reference
+     */
+    public String captureScreenshot(String testName) {
+        byte[] image = captureBytes();
+        if (image == null) {
             return null;
         }
+        return screenshotStore.put(testName + "_" + timestamp(), image);
     }
 
     /**
      * Capture screenshot with custom filename
      */
     public String captureScreenshot(String testName, String customName) {
+        byte[] image = captureBytes();
+        if (image == null) {
+            return null;
+        }
+        return screenshotStore.put(testName + "_" + customName, image);
+    }
+
+    private byte[] captureBytes() {
         try {
             WebDriver driver = webDriverManager.getCurrentDriver();
             if (driver == null) {
                 logger.warn("WebDriver is null, cannot capture screenshot");
                 return null;
             }
+            return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        } catch (Exception e) {
+            logger.error("Error capturing screenshot: {}", e.getMessage(), e);
+            return null;
+        }
+    }
 
-            TakesScreenshot takesScreenshot = (TakesScreenshot) driver;
-            File sourceFile = takesScreenshot.getScreenshotAs(OutputType.FILE);
-
-            File directory = new File(screenshotPath);
-            if (!directory.exists()) {
-                directory.mkdirs();
-            }
-
-            String fileName = testName + "_" + customName + ".png";
-            File destinationFile = new File(screenshotPath + fileName);
+    private static String timestamp() {
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+    }
 
-            FileUtils.copyFile(sourceFile, destinationFile);
-            logger.info("Screenshot captured: {}", destinationFile.getAbsolutePath());
+    private static final class BufferedScreenshot {
+        private final String name;
+        private final String timestamp;
+        private final byte[] image;
 
-            return destinationFile.getAbsolutePath();
-        } catch (IOException e) {
-            logger.error("Error capturing screenshot: {}", e.getMessage(), e);
-            return null;
+        private BufferedScreenshot(String name, String timestamp, byte[] image) {
+            this.name = name;
+            this.timestamp = timestamp;
+            this.image = image;
         }
     }
 }
@@ -1,11 +1,16 @@
 package com.automention.framework.hooks;
 
 import com.automention.framework.config.ApplicationConfig;
+import com.automention.framework.driver.CommandLatencyRecorder;
+import com.automention.framework.driver.WaitEngine;
 import com.automention.framework.driver.WebDriverManager;
 import com.automention.framework.pages.LoginPage;
+import com.automention.framework.pages.ScenarioOutcome;
 import com.automention.framework.utils.ElasticSearchUtil;
+import com.automention.framework.utils.RunMetrics;
 import com.automention.framework.utils.ScreenshotUtil;
 import com.automention.framework.utils.TestContext;
+import com.automention.framework.utils.TestResultDocument;
 import io.cucumber.java.After;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
@@ -13,9 +18,6 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Cucumber Hooks for test setup and teardown
  */
@@ -35,26 +37,50 @@ public class Hooks {
     @Autowired
     private ApplicationConfig config;
 
+    @Autowired
+    private ScenarioOutcome scenarioOutcome;
+
+    @Autowired
+    private WaitEngine waitEngine;
+
     @Autowired
     private LoginPage loginPage;
 
+    private long scenarioStartNanos;
+
     @Before
     public void setUp(Scenario scenario) {
+        scenarioStartNanos = System.nanoTime();
+        waitEngine.drainScenarioWaitNanos();
+        CommandLatencyRecorder.drainScenario();
+        screenshotUtil.startScenario();
         logger.info("Starting scenario: {}", scenario.getName());
         elasticSearchUtil.initializeClient();
     }
 
+    /**
+     * Log in for scenarios that only need an authenticated precondition
+     */
+    @Before(value = "@authenticated", order = 20000)
+    public void authenticate(Scenario scenario) {
+        logger.info("Establishing authenticated session for scenario: {}", scenario.getName());
+        loginPage.ensureLoggedIn(config.getUsername(), config.getPassword());
+    }
+
     @After
     public void tearDown(Scenario scenario) {
         try {
             String status = scenario.isFailed() ? "FAILED" : "PASSED";
+            long durationNanos = System.nanoTime() - scenarioStartNanos;
+            RunMetrics.recordTime("scenario.duration", durationNanos);
             logger.info("Scenario '{}' finished with status: {}", scenario.getName(), status);
 
-            // Capture final screenshot (best-effort; will be null if no WebDriver)
-            String screenshotPath = null;
+            // Capture final screenshot into the scenario buffer; written to disk only on failure
+            // or when report.screenshot.policy says so (best-effort; null if nothing is kept)
+            String screenshotRef = null;
             try {
                 String safeName = toSafeFileName(scenario.getName());
-                screenshotPath = screenshotUtil.captureScreenshot(safeName + "_" + status);
+                screenshotRef = screenshotUtil.finishScenario(safeName + "_" + status, scenario.isFailed());
             } catch (Exception e) {
                 logger.warn("Could not capture screenshot in @After: {}", e.getMessage());
             }
@@ -63,67 +89,46 @@ public class Hooks {
             String featureName = extractFeatureName(scenario.getUri().toString());
 
             // Send result to Elasticsearch for Kibana dashboards
-            Map<String, Object> additionalData = new HashMap<>();
-            additionalData.put("tags", scenario.getSourceTagNames());
-            additionalData.put("thread", Thread.currentThread().getName());
-            additionalData.put("browser", config.getBrowser());
-            additionalData.put("gridUrl", config.getSeleniumGridUrl());
-            additionalData.put("featurename", featureName);
-            additionalData.put("testCaseName", featureName);
+            TestResultDocument result = new TestResultDocument(scenario.getName(), status);
+            result.setScreenshotRef(screenshotRef);
+            result.setTags(scenario.getSourceTagNames());
+            result.setThread(Thread.currentThread().getName());
+            result.setBrowser(config.getBrowser());
+            result.setGridUrl(config.getSeleniumGridUrl());
+            result.setFeatureName(featureName);
+            result.setTestCaseName(featureName);
+            long waitNanos = waitEngine.drainScenarioWaitNanos();
+            RunMetrics.recordTime("scenario.wait", waitNanos);
+            result.setWaitTimeMs(waitNanos / 1_000_000);
+            result.setDurationMs(durationNanos / 1_000_000);
+            result.setCommandLatency(CommandLatencyRecorder.drainScenario());
             
             // Get login message from context (success or error message)
             String loginMessage = TestContext.getLoginMessage();
             
-            // If login message is not in context, try to capture it from the page
-            if ((loginMessage == null || loginMessage.isEmpty()) && webDriverManager != null) {
-                try {
-                    // Try to get success message first
-                    try {
-                        String successMsg = loginPage.getSuccessMessage();
-                        if (successMsg != null && !successMsg.isEmpty()) {
-                            loginMessage = successMsg;
-                            logger.info("Captured success message in @After: {}", loginMessage);
-                        }
-                    } catch (Exception e) {
-                        // Success message not found, try error message
-                        try {
-                            if (loginPage.verifyErrorMessageDisplayed()) {
-                                String errorMsg = loginPage.getErrorMessage();
-                                if (errorMsg != null && !errorMsg.isEmpty()) {
-                                    loginMessage = errorMsg;
-                                    logger.info("Captured error message in @After: {}", loginMessage);
-                                }
-                            }
-                        } catch (Exception e2) {
-                            logger.debug("Could not capture login message from page: {}", e2.getMessage());
-                        }
-                    }
-                } catch (Exception e) {
-                    logger.debug("Could not access page to capture login message: {}", e.getMessage());
-                }
-            }
-            
-            if (loginMessage != null && !loginMessage.isEmpty()) {
-                additionalData.put("loginMessage", loginMessage);
+            // Fall back to messages published by page objects; never touch the browser here
+            if (loginMessage == null || loginMessage.isEmpty()) {
+                loginMessage = scenarioOutcome.getLatestMessage();
             }
+            result.setLoginMessage(loginMessage);
 
-            String errorMessage = scenario.isFailed() ? "Scenario failed" : null;
-            elasticSearchUtil.sendTestResult(scenario.getName(), status, screenshotPath, errorMessage, additionalData);
+            result.setErrorMessage(scenario.isFailed() ? "Scenario failed" : null);
+            elasticSearchUtil.sendTestResult(result);
             
             // Clear the context after sending to Elasticsearch
             TestContext.clearLoginMessage();
-            
-            // Quit WebDriver
-            if (webDriverManager != null) {
-                webDriverManager.quitDriver();
-            }
-            
-            // Close Elasticsearch client
-            if (elasticSearchUtil != null) {
-                elasticSearchUtil.closeClient();
-            }
+
         } catch (Exception e) {
             logger.error("Error in tearDown: {}", e.getMessage(), e);
+        } finally {
+            // Return WebDriver to the session pool (quit if the scenario failed) even when reporting failed
+            if (webDriverManager != null) {
+                if (scenario.isFailed()) {
+                    webDriverManager.quitDriver();
+                } else {
+                    webDriverManager.releaseDriver();
+                }
+            }
         }
     }
 
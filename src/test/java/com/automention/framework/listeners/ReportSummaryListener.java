@@ -1,5 +1,8 @@
 package com.automention.framework.listeners;
 
+import com.automention.framework.driver.CommandLatencyRecorder;
+import com.automention.framework.utils.ElasticSearchUtil;
+import com.automention.framework.utils.RunMetrics;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.testng.ISuite;
@@ -10,6 +13,8 @@ import org.testng.ISuiteListener;
 import java.io.File;
 import java.io.InputStream;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -44,6 +49,9 @@ public class ReportSummaryListener implements ISuiteListener {
 
     @Override
     public void onFinish(ISuite suite) {
+        // Ship any test results still queued for Elasticsearch before reporting
+        flushElasticsearchResults();
+
         // Check for test failures
         boolean hasFailures = checkForTestFailures(suite);
         
@@ -66,6 +74,12 @@ public class ReportSummaryListener implements ISuiteListener {
         // Print test statistics
         printTestStatistics(suite, hasFailures);
         
+        // Print run metrics (driver warm-up, waits, etc.)
+        printRunMetrics();
+
+        // Print WebDriver command latency percentiles
+        printCommandLatency();
+
         // Print Cucumber HTML Report Location
         printCucumberReportLocation();
         
@@ -137,6 +151,51 @@ public class ReportSummaryListener implements ISuiteListener {
         }
     }
 
+    /**
+     * Flush the shared Elasticsearch bulk ingester so no queued results are lost at exit
+     */
+    private void flushElasticsearchResults() {
+        try {
+            ElasticSearchUtil.flushPendingResults(Duration.ofSeconds(30));
+        } catch (Exception e) {
+            logger.warn("Error flushing Elasticsearch results: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Print metrics collected by framework components during the run
+     */
+    private void printRunMetrics() {
+        try {
+            Map<String, String> metrics = RunMetrics.snapshot();
+            if (metrics.isEmpty()) {
+                return;
+            }
+            System.out.println("RUN METRICS:");
+            metrics.forEach((name, value) -> System.out.println("  " + name + ": " + value));
+            System.out.println("");
+        } catch (Exception e) {
+            logger.warn("Error printing run metrics: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Print per-command WebDriver latency percentiles for the whole suite
+     */
+    private void printCommandLatency() {
+        try {
+            Map<String, String> latency = CommandLatencyRecorder.suiteSummary();
+            if (latency.isEmpty()) {
+                return;
+            }
+            System.out.println("WEBDRIVER COMMAND LATENCY:");
+            latency.forEach((command, value) -> System.out.println("  " + command + ": " + value));
+            System.out.println("");
+        } catch (Exception e) {
+            logger.warn("Error printing command latency: {}", e.getMessage());
+        }
+    }
+
     private void printCucumberReportLocation() {
         try {
             String targetDir = "target";
@@ -182,6 +241,11 @@ public class ReportSummaryListener implements ISuiteListener {
             String elasticsearchUrl = "http://" + elasticsearchHost + ":" + elasticsearchPort;
             System.out.println("  URL:        " + elasticsearchUrl);
             System.out.println("  Health Check: " + elasticsearchUrl + "/_cluster/health");
+            String breakerState = RunMetrics.getValue("es.breaker.state");
+            if (breakerState != null) {
+                System.out.println("  Circuit:    " + breakerState
+                        + " (trips: " + RunMetrics.getCount("es.breaker.trips") + ")");
+            }
         } else {
             System.out.println("  URL:        http://" + elasticsearchHost + ":" + elasticsearchPort + " (when enabled)");
             System.out.println("  Note:       Set elasticsearch.enabled=true in application.properties to enable");
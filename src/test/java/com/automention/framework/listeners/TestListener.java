@@ -29,13 +29,13 @@ public class TestListener implements ITestListener {
     public void onTestSuccess(ITestResult result) {
         try {
             String testName = result.getMethod().getMethodName();
-            String screenshotPath = screenshotUtil.captureScreenshot(testName);
+            String screenshotRef = screenshotUtil.captureScreenshot(testName);
             
             Map<String, Object> additionalData = new HashMap<>();
             additionalData.put("className", result.getTestClass().getName());
             additionalData.put("methodName", testName);
             
-            elasticSearchUtil.sendTestResult(testName, "PASSED", screenshotPath, null, additionalData);
+            elasticSearchUtil.sendTestResult(testName, "PASSED", screenshotRef, null, additionalData);
             logger.info("Test passed: {}", testName);
         } catch (Exception e) {
             logger.error("Error in test success listener: {}", e.getMessage(), e);
@@ -46,7 +46,7 @@ public class TestListener implements ITestListener {
     public void onTestFailure(ITestResult result) {
         try {
             String testName = result.getMethod().getMethodName();
-            String screenshotPath = screenshotUtil.captureScreenshot(testName + "_failure");
+            String screenshotRef = screenshotUtil.captureScreenshot(testName + "_failure");
             String errorMessage = result.getThrowable().getMessage();
             
             Map<String, Object> additionalData = new HashMap<>();
@@ -54,7 +54,7 @@ public class TestListener implements ITestListener {
             additionalData.put("methodName", testName);
             additionalData.put("stackTrace", getStackTrace(result.getThrowable()));
             
-            elasticSearchUtil.sendTestResult(testName, "FAILED", screenshotPath, errorMessage, additionalData);
+            elasticSearchUtil.sendTestResult(testName, "FAILED", screenshotRef, errorMessage, additionalData);
             logger.error("Test failed: {}", testName);
         } catch (Exception e) {
             logger.error("Error in test failure listener: {}", e.getMessage(), e);
@@ -1,18 +1,36 @@
 package com.automention.framework.stepdefinitions;
 
+import com.automention.framework.api.ApiFanOutResult;
+import com.automention.framework.api.ApiLoadGenerator;
+import com.automention.framework.api.ApiLoadResult;
+import com.automention.framework.api.ApiRequest;
+import com.automention.framework.api.ApiSchemaValidator;
+import com.automention.framework.api.ApiStubServer;
 import com.automention.framework.api.JsonComparisonUtil;
+import com.automention.framework.api.LoadProfile;
 import com.automention.framework.api.RestApiClient;
+import com.automention.framework.api.SchemaValidationResult;
+import com.automention.framework.config.ApplicationConfig;
+import io.cucumber.datatable.DataTable;
+import io.cucumber.java.After;
+import io.cucumber.java.en.Given;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.testng.Assert;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Step Definitions for API Test Scenarios
@@ -20,6 +38,7 @@ import java.nio.file.Paths;
 public class ApiStepDefinitions {
 
     private static final Logger logger = LogManager.getLogger(ApiStepDefinitions.class);
+    private static final String PRODUCTS_STUB_PATH = "src/test/resources/api/products_stub.json";
 
     @Autowired
     private RestApiClient restApiClient;
@@ -27,14 +46,83 @@ public class ApiStepDefinitions {
     @Autowired
     private JsonComparisonUtil jsonComparisonUtil;
 
+    @Autowired
+    private ApiLoadGenerator apiLoadGenerator;
+
+    @Autowired
+    private ApiSchemaValidator schemaValidator;
+
+    @Autowired
+    private ApplicationConfig config;
+
     private String apiResponse;
     private String savedResponse;
+    private ApiFanOutResult fanOutResult;
+    private ApiStubServer stubServer;
+    private String stubProductsUrl;
+    private Duration loadRampUp;
+    private Duration loadHold;
+
+    @After
+    public void stopStub() {
+        if (stubServer != null) {
+            stubServer.close();
+            stubServer = null;
+        }
+    }
+
+    /**
+     * Serve the seeded products fixture from an embedded stub; later products steps in the
+     * scenario call the stub instead of api.url
+     */
+    @Given("a local products API stub responding in {int} ms")
+    public void aLocalProductsApiStubRespondingIn(int latencyMs) throws IOException {
+        byte[] body = Files.readAllBytes(Paths.get(PRODUCTS_STUB_PATH));
+        stubServer = ApiStubServer.start(0)
+                .respond("/api/productsList", 200, body, "application/json", Duration.ofMillis(latencyMs));
+        stubProductsUrl = stubServer.url("/api/productsList");
+    }
+
+    /**
+     * Add a canned endpoint to the running local stub
+     */
+    @Given("the local API stub also answers {string} with status {int} after {int} ms")
+    public void theLocalApiStubAlsoAnswersWithStatusAfterMs(String path, int status, int latencyMs) {
+        Assert.assertNotNull(stubServer, "No local API stub is running");
+        byte[] body = ("{\"responseCode\":" + status + "}").getBytes(StandardCharsets.UTF_8);
+        stubServer.respond(path, status, body, "application/json", Duration.ofMillis(latencyMs));
+    }
+
+    @Given("the API load profile ramps up over {int} seconds and holds for {int} seconds")
+    public void theApiLoadProfileRampsUpOverSecondsAndHoldsForSeconds(int rampSeconds, int holdSeconds) {
+        loadRampUp = Duration.ofSeconds(rampSeconds);
+        loadHold = Duration.ofSeconds(holdSeconds);
+    }
+
+    @Then("the products API sustains {int} rps with p99 under {int} ms")
+    public void theProductsApiSustainsRpsWithP99Under(int rps, int p99Ms) {
+        LoadProfile profile = LoadProfile.rampAndHold(rps,
+                loadRampUp != null ? loadRampUp : Duration.ofSeconds(config.getApiLoadRampSeconds()),
+                loadHold != null ? loadHold : Duration.ofSeconds(config.getApiLoadHoldSeconds()));
+        ApiLoadResult result = apiLoadGenerator.run("products", productsUrl(), profile);
+
+        // Allow 5% below target for scheduling jitter at the edges of the hold stage
+        Assert.assertTrue(result.getSustainedRps() >= rps * 0.95,
+                "Sustained " + String.format("%.1f", result.getSustainedRps()) + " rps, target " + rps + ": " + result.summary());
+        Assert.assertTrue(result.getErrorRate() <= config.getApiLoadMaxErrorRate(),
+                "Error rate " + String.format("%.3f", result.getErrorRate()) + " above "
+                        + config.getApiLoadMaxErrorRate() + ": " + result.summary());
+        Assert.assertTrue(result.responseTimeMs(99) < p99Ms,
+                "p99 " + String.format("%.1f", result.responseTimeMs(99)) + " ms not under " + p99Ms + " ms: " + result.summary());
+    }
 
     @When("I hit the products API endpoint")
     public void iHitTheProductsApiEndpoint() {
         try {
             logger.info("Hitting products API endpoint");
-            apiResponse = restApiClient.getProductsList();
+            apiResponse = stubProductsUrl != null
+                    ? restApiClient.getApiResponseAsString(stubProductsUrl)
+                    : restApiClient.getProductsList();
             logger.info("API response received");
         } catch (Exception e) {
             logger.error("Error hitting API endpoint: {}", e.getMessage(), e);
@@ -42,6 +130,85 @@ public class ApiStepDefinitions {
         }
     }
 
+    @Then("the products API should return at least {int} products")
+    public void theProductsApiShouldReturnAtLeastProducts(int minimum) {
+        try {
+            // Products are parsed one at a time from the response stream; no full body String is built
+            long count = restApiClient.streamJsonArray(productsUrl(), "products", product -> { });
+            logger.info("Products API returned {} product(s)", count);
+            Assert.assertTrue(count >= minimum, "Expected at least " + minimum + " products but got " + count);
+        } catch (Exception e) {
+            logger.error("Error reading products from API: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    @Then("the products API response should match the schema {string}")
+    public void theProductsApiResponseShouldMatchTheSchema(String schemaPath) {
+        SchemaValidationResult result = schemaValidator.validate(schemaPath, apiResponse);
+        logger.info("Schema validation {}", result.summary());
+        Assert.assertTrue(result.isValid(), "API response does not match schema " + result.summary());
+    }
+
+    /**
+     * Streams the products array and validates each product against the schema's item definition
+     */
+    @Then("every product from the products API should match the schema {string}")
+    public void everyProductFromTheProductsApiShouldMatchTheSchema(String schemaPath) {
+        SchemaValidationResult result = schemaValidator.validateJsonArray(productsUrl(), "products", schemaPath);
+        logger.info("Schema validation {}", result.summary());
+        Assert.assertTrue(result.isValid(), result.getInvalid() + " product(s) do not match schema " + result.summary());
+    }
+
+    /**
+     * Columns: name, endpoint and an optional expected status (default 200); endpoints starting
+     * with "/" go to the local stub when one is running
+     */
+    @When("I call these API endpoints concurrently:")
+    public void iCallTheseApiEndpointsConcurrently(DataTable table) {
+        try {
+            List<ApiRequest> requests = new ArrayList<>();
+            for (Map<String, String> row : table.asMaps()) {
+                String status = row.get("status");
+                String endpoint = row.get("endpoint");
+                if (stubServer != null && endpoint.startsWith("/")) {
+                    endpoint = stubServer.url(endpoint);
+                }
+                requests.add(new ApiRequest(row.get("name"), endpoint,
+                        status == null || status.isBlank() ? 200 : Integer.parseInt(status.trim())));
+            }
+            fanOutResult = restApiClient.fanOut(requests);
+        } catch (Exception e) {
+            logger.error("Error calling API endpoints concurrently: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    @Then("all concurrent API calls should succeed")
+    public void allConcurrentApiCallsShouldSucceed() {
+        List<ApiFanOutResult.Outcome> failures = fanOutResult.getFailures();
+        Assert.assertTrue(failures.isEmpty(),
+                failures.size() + " of " + fanOutResult.getOutcomes().size() + " API call(s) failed: " + fanOutResult.summary());
+    }
+
+    @Then("every concurrent API call should complete within {long} ms")
+    public void everyConcurrentApiCallShouldCompleteWithin(long maxMs) {
+        List<ApiFanOutResult.Outcome> slow = fanOutResult.slowerThan(maxMs);
+        Assert.assertTrue(slow.isEmpty(),
+                slow.size() + " API call(s) took longer than " + maxMs + " ms: " + fanOutResult.summary());
+    }
+
+    /**
+     * The calls overlapped: the whole fan-out took less than the calls would one after another
+     */
+    @Then("the concurrent API calls should take less time than calling them one by one")
+    public void theConcurrentApiCallsShouldTakeLessTimeThanCallingThemOneByOne() {
+        long sequentialMs = fanOutResult.getOutcomes().stream().mapToLong(ApiFanOutResult.Outcome::getDurationMs).sum();
+        Assert.assertTrue(fanOutResult.getWallTimeMs() < sequentialMs,
+                "API fan-out took " + fanOutResult.getWallTimeMs() + " ms, calls add up to " + sequentialMs + " ms: "
+                        + fanOutResult.summary());
+    }
+
     @And("I compare the API response with saved response")
     public void iCompareTheApiResponseWithSavedResponse() {
         try {
@@ -71,6 +238,10 @@ public class ApiStepDefinitions {
         }
     }
 
+    private String productsUrl() {
+        return stubProductsUrl != null ? stubProductsUrl : config.getApiUrl();
+    }
+
     /**
      * Load saved response from file
      */
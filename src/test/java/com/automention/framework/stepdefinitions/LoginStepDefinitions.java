@@ -49,8 +49,7 @@ public class LoginStepDefinitions {
     public void iEnterUsernameAndPassword(String username, String password) {
         try {
             logger.info("Entering username: {} and password", username);
-            loginPage.enterUsername(username);
-            loginPage.enterPassword(password);
+            loginPage.enterCredentials(username, password);
         } catch (Exception e) {
             logger.error("Error entering credentials: {}", e.getMessage(), e);
             throw e;
@@ -98,11 +97,11 @@ public class LoginStepDefinitions {
             }
             
             Assert.assertTrue(isLoggedIn, "Login was not successful");
-            screenshotUtil.captureScreenshot("LoginSuccess");
+            screenshotUtil.captureStep("LoginSuccess");
             logger.info("Login verification passed");
         } catch (Exception e) {
             logger.error("Error verifying login: {}", e.getMessage(), e);
-            screenshotUtil.captureScreenshot("LoginFailure");
+            screenshotUtil.captureStep("LoginFailure");
             throw e;
         }
     }
@@ -128,7 +127,7 @@ public class LoginStepDefinitions {
         try {
             logger.info("Clicking logout link");
             loginPage.logout();
-            screenshotUtil.captureScreenshot("Logout");
+            screenshotUtil.captureStep("Logout");
         } catch (Exception e) {
             logger.error("Error clicking logout link: {}", e.getMessage(), e);
             throw e;
@@ -161,11 +160,11 @@ public class LoginStepDefinitions {
             // Store the error message in context for Kibana
             TestContext.setLoginMessage(actualErrorMessage);
             
-            screenshotUtil.captureScreenshot("LoginError");
+            screenshotUtil.captureStep("LoginError");
             logger.info("Error message verification passed: {}", actualErrorMessage);
         } catch (Exception e) {
             logger.error("Error verifying error message: {}", e.getMessage(), e);
-            screenshotUtil.captureScreenshot("LoginErrorFailure");
+            screenshotUtil.captureStep("LoginErrorFailure");
             throw e;
         }
     }
@@ -190,11 +189,11 @@ public class LoginStepDefinitions {
                 logger.debug("Could not capture error message: {}", e.getMessage());
             }
             
-            screenshotUtil.captureScreenshot("LoginFailure");
+            screenshotUtil.captureStep("LoginFailure");
             logger.info("Login failure verification passed");
         } catch (Exception e) {
             logger.error("Error verifying login failure: {}", e.getMessage(), e);
-            screenshotUtil.captureScreenshot("LoginFailureError");
+            screenshotUtil.captureStep("LoginFailureError");
             throw e;
         }
     }
@@ -1,175 +1,569 @@
 package com.automention.framework.utils;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
-import co.elastic.clients.elasticsearch.core.IndexRequest;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkIngester;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkListener;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
 import co.elastic.clients.json.jackson.JacksonJsonpMapper;
 import co.elastic.clients.transport.ElasticsearchTransport;
 import co.elastic.clients.transport.rest_client.RestClientTransport;
+import co.elastic.clients.util.BinaryData;
 import com.automention.framework.config.ApplicationConfig;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseException;
+import org.elasticsearch.client.ResponseListener;
 import org.elasticsearch.client.RestClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.io.File;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Elasticsearch Utility for Reporting
- * Sends test results to Elasticsearch for Kibana visualization
+ * Sends test results to Elasticsearch for Kibana visualization. Results are appended to a
+ * durable local spool on the scenario thread and a background shipper drains the spool through
+ * one suite-wide bulk ingester, resuming after a crash or on the next run. Full screenshots are
+ * streamed to a separate attachment index and result documents keep only a reference and a thumbnail
  */
 @Component
 public class ElasticSearchUtil {
 
     private static final Logger logger = LogManager.getLogger(ElasticSearchUtil.class);
+    private static final long RETRY_BACKOFF_MILLIS = 500;
+    private static final String REJECTED_FILE = "rejected.jsonl";
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String JSON_CONTENT_TYPE = "application/json";
+
+    // Lets suite listeners, which live outside the Spring context, flush the shared ingester
+    private static final AtomicReference<ElasticSearchUtil> activeInstance = new AtomicReference<>();
 
     @Autowired
     private ApplicationConfig config;
 
-    private final ThreadLocal<RestClient> restClientThreadLocal = new ThreadLocal<>();
-    private final ThreadLocal<ElasticsearchTransport> transportThreadLocal = new ThreadLocal<>();
-    private final ThreadLocal<ElasticsearchClient> clientThreadLocal = new ThreadLocal<>();
+    @Autowired
+    private ScreenshotUtil screenshotUtil;
+
+    private final Object lifecycleLock = new Object();
+    private final Object rejectedLock = new Object();
+    private final AtomicInteger inProgress = new AtomicInteger();
+    private final AtomicInteger pendingUploads = new AtomicInteger();
+    private final Set<String> uploadedScreenshots = ConcurrentHashMap.newKeySet();
+    private final DelayQueue<PendingResult> retries = new DelayQueue<>();
+
+    private RestClient restClient;
+    private ElasticsearchTransport transport;
+    private ScheduledExecutorService scheduler;
+    private Thread shipper;
+    private volatile ResultSpool spool;
+    private volatile BulkIngester<PendingResult> ingester;
+    private volatile ReportingCircuitBreaker breaker;
+    private volatile boolean running;
+    private volatile boolean templateInstalled;
+
+    @PostConstruct
+    public void register() {
+        activeInstance.set(this);
+    }
+
+    /**
+     * Flush and close the shared client, waiting up to the timeout for spooled results
+     */
+    public static void flushPendingResults(Duration timeout) {
+        ElasticSearchUtil instance = activeInstance.get();
+        if (instance != null) {
+            instance.flushAndClose(timeout);
+        }
+    }
 
     /**
-     * Initialize Elasticsearch client
+     * Open the result spool and start the shared client and shipper (no-op once running)
      */
     public void initializeClient() {
-        if (!config.isElasticsearchEnabled()) {
-            logger.info("Elasticsearch is disabled in configuration");
+        if (!config.isElasticsearchEnabled() || running) {
             return;
         }
 
-        try {
-            RestClient restClient = RestClient.builder(
-                    new HttpHost(config.getElasticsearchHost(), config.getElasticsearchPort(), "http")
-            ).build();
+        synchronized (lifecycleLock) {
+            if (running) {
+                return;
+            }
+            try {
+                spool = ResultSpool.open(Paths.get(config.getSpoolPath()), config.getSpoolSegmentSize());
+                restClient = RestClient.builder(
+                        new HttpHost(config.getElasticsearchHost(), config.getElasticsearchPort(), "http")
+                ).build();
+                transport = new RestClientTransport(restClient, new JacksonJsonpMapper());
+                ElasticsearchClient client = new ElasticsearchClient(transport);
 
-            ElasticsearchTransport transport = new RestClientTransport(
-                    restClient, new JacksonJsonpMapper());
+                // Probe once up front so an unreachable cluster is known before the first result
+                breaker = new ReportingCircuitBreaker("Elasticsearch", config.getBreakerFailureThreshold(),
+                        TimeUnit.SECONDS.toMillis(config.getBreakerOpenSeconds()), this::isClusterHealthy);
+                if (!breaker.probe()) {
+                    logger.warn("Elasticsearch at {}:{} is not reachable; results will be spooled until it is",
+                            config.getElasticsearchHost(), config.getElasticsearchPort());
+                }
 
-            ElasticsearchClient client = new ElasticsearchClient(transport);
-            restClientThreadLocal.set(restClient);
-            transportThreadLocal.set(transport);
-            clientThreadLocal.set(client);
+                scheduler = Executors.newSingleThreadScheduledExecutor(daemon("es-bulk-scheduler"));
+                ingester = BulkIngester.of(b -> b
+                        .client(client)
+                        .maxOperations(config.getBulkMaxActions())
+                        .maxSize(config.getBulkMaxBytes())
+                        .maxConcurrentRequests(Math.max(1, config.getBulkConcurrentRequests()))
+                        .flushInterval(config.getBulkFlushIntervalMillis(), TimeUnit.MILLISECONDS, scheduler)
+                        .listener(new ResultListener()));
 
-            logger.info("Elasticsearch client initialized successfully (thread={})", Thread.currentThread().getName());
-        } catch (Exception e) {
-            logger.error("Error initializing Elasticsearch client: {}", e.getMessage(), e);
+                running = true;
+                shipper = daemon("es-bulk-shipper").newThread(this::ship);
+                shipper.start();
+                logger.info("Elasticsearch shipper initialized (spool={}, maxActions={}, flushInterval={}ms)",
+                        config.getSpoolPath(), config.getBulkMaxActions(), config.getBulkFlushIntervalMillis());
+            } catch (Exception e) {
+                logger.error("Error initializing Elasticsearch client: {}", e.getMessage(), e);
+                closeResources();
+            }
         }
     }
 
     /**
-     * Send test result to Elasticsearch
+     * Append a test result to the local spool; never waits on the cluster
      */
-    public void sendTestResult(String scenarioName, String status, String screenshotPath, 
+    public void sendTestResult(String scenarioName, String status, String screenshotRef, 
                                String errorMessage, Map<String, Object> additionalData) {
-        ElasticsearchClient client = clientThreadLocal.get();
-        if (!config.isElasticsearchEnabled() || client == null) {
-            logger.debug("Elasticsearch is disabled or client not initialized");
+        sendTestResult(TestResultDocument.from(scenarioName, status, screenshotRef, errorMessage, additionalData));
+    }
+
+    /**
+     * Append a typed test result to the local spool; never waits on the cluster
+     */
+    public void sendTestResult(TestResultDocument document) {
+        if (!config.isElasticsearchEnabled()) {
+            logger.debug("Elasticsearch is disabled");
+            return;
+        }
+        initializeClient();
+        ResultSpool resultSpool = spool;
+        if (!running || resultSpool == null) {
+            logger.debug("Elasticsearch client not initialized");
             return;
         }
 
         try {
-            Map<String, Object> document = new HashMap<>();
-            document.put("scenario", scenarioName);
-            document.put("status", status);
-            document.put("timestamp", LocalDateTime.now().toString());
-            document.put("screenshotPath", screenshotPath);
-            document.put("errorMessage", errorMessage != null ? errorMessage : "");
-            
-            // Extract featurename, testCaseName, and loginMessage from additionalData
-            String featureName = "Unknown";
-            String testCaseName = scenarioName; // Default to scenario name if not found
-            String loginMessage = ""; // Login success or error message
-            if (additionalData != null) {
-                Object featureNameObj = additionalData.get("featurename");
-                if (featureNameObj != null) {
-                    featureName = featureNameObj.toString();
+            // Stable id so a result re-shipped after a crash overwrites instead of duplicating
+            if (document.getResultId() == null) {
+                document.setResultId(UUID.randomUUID().toString());
+            }
+            TestResultWriter.ResultBuffer buffer = TestResultWriter.serialize(document);
+            resultSpool.append(buffer.array(), 0, buffer.size());
+            RunMetrics.increment("es.results.spooled");
+            logger.info("Test result spooled for Elasticsearch: {} - {}", document.getScenario(), document.getStatus());
+        } catch (Exception e) {
+            logger.error("Error spooling test result for Elasticsearch: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Wait for spooled and in-flight results, then close the shared client; anything not yet
+     * confirmed stays in the spool for the next run
+     */
+    public void flushAndClose(Duration timeout) {
+        synchronized (lifecycleLock) {
+            if (!running) {
+                return;
+            }
+            long deadline = System.nanoTime() + timeout.toNanos();
+            try {
+                while ((spool.hasUnread() || inProgress.get() > 0 || pendingUploads.get() > 0)
+                        && !breaker.isOpen() && System.nanoTime() < deadline) {
+                    ingester.flush();
+                    Thread.sleep(50);
                 }
-                Object testCaseNameObj = additionalData.get("testCaseName");
-                if (testCaseNameObj != null) {
-                    testCaseName = testCaseNameObj.toString();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (pendingUploads.get() > 0) {
+                logger.warn("{} screenshot upload(s) did not finish before shutdown", pendingUploads.get());
+            }
+            closeResources();
+            logger.info("Closed Elasticsearch client");
+        }
+    }
+
+    /**
+     * Close Elasticsearch client when the context shuts down
+     */
+    @PreDestroy
+    public void closeClient() {
+        flushAndClose(Duration.ofSeconds(30));
+    }
+
+    private void ship() {
+        while (running) {
+            try {
+                if (!breaker.allowRequest()) {
+                    // Results stay in the spool while the circuit is open
+                    Thread.sleep(100);
+                    continue;
                 }
-                Object loginMessageObj = additionalData.get("loginMessage");
-                if (loginMessageObj != null) {
-                    loginMessage = loginMessageObj.toString();
+                ensureIndexTemplate();
+                PendingResult result = retries.poll();
+                if (result == null && inProgress.get() < Math.max(1, config.getBulkQueueCapacity())) {
+                    result = readSpool();
                 }
-                document.putAll(additionalData);
-            }
-            // Add featurename and testCaseName as top-level fields (like status) for Kibana keyword breakdown
-            document.put("featurename", featureName);
-            document.put("testCaseName", testCaseName);
-            
-            // Add loginMessage as top-level field for Kibana visualization
-            // This will show "Congratulations student. You successfully logged in!" or "Your password is invalid!"
-            document.put("loginMessage", loginMessage);
-            
-            // Add combined field for breakdown showing feature name with status
-            // This allows Kibana to show "FeatureName - PASSED" or "FeatureName - FAILED" in breakdowns
-            document.put("featurename_status", featureName + " - " + status);
-
-            // Encode screenshot as base64 if path is provided
-            if (screenshotPath != null && !screenshotPath.isEmpty()) {
-                try {
-                    File screenshotFile = new File(screenshotPath);
-                    if (screenshotFile.exists()) {
-                        byte[] fileContent = Files.readAllBytes(screenshotFile.toPath());
-                        String base64Image = java.util.Base64.getEncoder().encodeToString(fileContent);
-                        document.put("screenshotBase64", base64Image);
+                if (result == null) {
+                    result = retries.poll(50, TimeUnit.MILLISECONDS);
+                    if (result == null) {
+                        continue;
                     }
-                } catch (Exception e) {
-                    logger.warn("Error encoding screenshot: {}", e.getMessage());
                 }
+                PendingResult shipped = result;
+                // Blocks only this thread when maxConcurrentRequests bulk requests are outstanding
+                ingester.add(BulkOperation.of(op -> op.create(i -> i
+                        .index(config.getElasticsearchIndex())
+                        .id(shipped.resultId)
+                        .document(BinaryData.of(shipped.payload, JSON_CONTENT_TYPE)))), shipped);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Error shipping test result to Elasticsearch: {}", e.getMessage(), e);
             }
+        }
+    }
 
-            IndexRequest<Map<String, Object>> request = IndexRequest.of(i -> i
-                    .index(config.getElasticsearchIndex())
-                    .document(document)
-            );
-
-            client.index(request);
-            logger.info("Test result sent to Elasticsearch: {} - {}", scenarioName, status);
+    private PendingResult readSpool() {
+        ResultSpool.Record record = spool.next();
+        if (record == null) {
+            return null;
+        }
+        try {
+            // Spooled bytes are shipped as-is; only the keys needed for routing are parsed
+            String[] keys = TestResultWriter.readKeys(record.getPayload());
+            if (keys[0] == null) {
+                throw new IOException("missing resultId");
+            }
+            inProgress.incrementAndGet();
+            byte[] payload = attachScreenshot(record.getPayload(), keys[2]);
+            return new PendingResult(record.getPosition(), payload, keys[0], keys[1], 0);
+        } catch (IOException e) {
+            RunMetrics.increment("es.spool.corrupt");
+            logger.error("Skipping unreadable spooled result: {}", e.getMessage());
+            spool.acknowledge(record.getPosition());
+            return null;
+        }
+    }
 
+    private byte[] attachScreenshot(byte[] payload, String reference) {
+        if (reference == null || reference.isEmpty()) {
+            return payload;
+        }
+        if (config.isScreenshotUploadEnabled()) {
+            uploadScreenshot(reference);
+        }
+        try {
+            // Result documents carry only the reference and a small thumbnail for Kibana tables
+            byte[] thumbnail = screenshotUtil.thumbnail(reference, config.getScreenshotThumbnailWidth());
+            return TestResultWriter.withScreenshot(payload, Base64.getEncoder().encodeToString(thumbnail),
+                    config.getScreenshotIndex());
         } catch (Exception e) {
-            logger.error("Error sending test result to Elasticsearch: {}", e.getMessage(), e);
+            logger.warn("Error creating screenshot thumbnail: {}", e.getMessage());
+            return payload;
         }
     }
 
     /**
-     * Close Elasticsearch client
+     * Stream the full screenshot into the attachment index once per content hash
      */
-    public void closeClient() {
-        try {
-            ElasticsearchTransport transport = transportThreadLocal.get();
-            RestClient restClient = restClientThreadLocal.get();
-
-            if (transport != null) {
-                try {
-                    transport.close();
-                } catch (Exception e) {
-                    logger.warn("Error closing Elasticsearch transport: {}", e.getMessage());
-                }
+    private void uploadScreenshot(String reference) {
+        if (!uploadedScreenshots.add(reference)) {
+            return;
+        }
+        String id = reference.substring(reference.indexOf(':') + 1);
+        Request request = new Request("PUT", "/" + config.getScreenshotIndex() + "/_create/" + id);
+        request.setEntity(new ScreenshotAttachmentEntity(reference, () -> screenshotUtil.openScreenshot(reference)));
+
+        pendingUploads.incrementAndGet();
+        restClient.performRequestAsync(request, new ResponseListener() {
+            @Override
+            public void onSuccess(Response response) {
+                pendingUploads.decrementAndGet();
+                breaker.recordSuccess();
+                RunMetrics.increment("es.screenshots.uploaded");
             }
-            if (restClient != null) {
-                try {
-                    restClient.close();
-                } catch (Exception e) {
-                    logger.warn("Error closing Elasticsearch RestClient: {}", e.getMessage());
+
+            @Override
+            public void onFailure(Exception e) {
+                pendingUploads.decrementAndGet();
+                if (e instanceof ResponseException responseException
+                        && responseException.getResponse().getStatusLine().getStatusCode() == 409) {
+                    // Already uploaded by an earlier run
+                    RunMetrics.increment("es.screenshots.deduplicated");
+                    return;
+                }
+                uploadedScreenshots.remove(reference);
+                if (!(e instanceof ResponseException)) {
+                    breaker.recordFailure();
                 }
+                RunMetrics.increment("es.screenshots.failed");
+                logger.warn("Error uploading screenshot {}: {}", reference, e.getMessage());
             }
+        });
+    }
 
-            clientThreadLocal.remove();
-            transportThreadLocal.remove();
-            restClientThreadLocal.remove();
+    /**
+     * Install the index template before the first result is shipped (data streams need it to exist
+     * before the first write); retried while the cluster is unreachable
+     */
+    private void ensureIndexTemplate() {
+        if (templateInstalled || !config.isIndexTemplateEnabled()) {
+            return;
+        }
+        try {
+            new ResultIndexTemplate(restClient, config, objectMapper).install();
+            templateInstalled = true;
+        } catch (ResponseException e) {
+            templateInstalled = true;
+            logger.warn("Elasticsearch refused the result index template, using dynamic mapping: {}", e.getMessage());
+        } catch (IOException e) {
+            breaker.recordFailure();
+            logger.warn("Could not install result index template: {}", e.getMessage());
+        }
+    }
 
-            logger.info("Closed Elasticsearch client (thread={})", Thread.currentThread().getName());
+    /**
+     * Health probe for the circuit breaker: reachable and not red
+     */
+    private boolean isClusterHealthy() {
+        try {
+            int timeout = (int) config.getHealthTimeoutMillis();
+            Request request = new Request("GET", "/_cluster/health");
+            request.setOptions(RequestOptions.DEFAULT.toBuilder().setRequestConfig(RequestConfig.custom()
+                    .setConnectTimeout(timeout)
+                    .setSocketTimeout(timeout)
+                    .build()));
+            Response response = restClient.performRequest(request);
+            String status = objectMapper.readTree(response.getEntity().getContent()).path("status").asText();
+            return !"red".equals(status);
         } catch (Exception e) {
-            logger.error("Error closing Elasticsearch client: {}", e.getMessage(), e);
+            logger.debug("Elasticsearch health probe failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void retryOrPark(PendingResult result, String reason) {
+        if (running && breaker.isOpen()) {
+            // The backend is down, not this result; hold it without using up an attempt
+            retries.add(result.retry(result.attempt));
+        } else if (running && result.attempt < config.getBulkMaxRetries()) {
+            RunMetrics.increment("es.results.retried");
+            retries.add(result.retry(result.attempt + 1));
+        } else {
+            // Not acknowledged, so the checkpoint stays behind it and the next run ships it again
+            inProgress.decrementAndGet();
+            RunMetrics.increment("es.results.parked");
+            logger.warn("Leaving test result {} in the spool after {} attempt(s): {}",
+                    result.scenario, result.attempt + 1, reason);
+        }
+    }
+
+    private void reject(PendingResult result, String reason) {
+        RunMetrics.increment("es.results.rejected");
+        logger.error("Elasticsearch rejected test result {}: {}", result.scenario, reason);
+        try {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(result.payload.length + 256);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(line)) {
+                generator.writeStartObject();
+                generator.writeStringField("reason", reason);
+                generator.writeFieldName("document");
+                generator.writeRawValue(new String(result.payload, StandardCharsets.UTF_8));
+                generator.writeEndObject();
+            }
+            line.write(System.lineSeparator().getBytes(StandardCharsets.UTF_8));
+            synchronized (rejectedLock) {
+                Files.write(Paths.get(config.getSpoolPath(), REJECTED_FILE), line.toByteArray(),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not record rejected test result: {}", e.getMessage());
+        }
+        complete(result);
+    }
+
+    private void complete(PendingResult result) {
+        inProgress.decrementAndGet();
+        spool.acknowledge(result.position);
+    }
+
+    private void closeResources() {
+        running = false;
+        if (shipper != null) {
+            shipper.interrupt();
+            try {
+                shipper.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (ingester != null) {
+            try {
+                ingester.close();
+            } catch (Exception e) {
+                logger.warn("Error closing Elasticsearch bulk ingester: {}", e.getMessage());
+            }
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (Exception e) {
+                logger.warn("Error closing Elasticsearch transport: {}", e.getMessage());
+            }
+        }
+        if (restClient != null) {
+            try {
+                restClient.close();
+            } catch (Exception e) {
+                logger.warn("Error closing Elasticsearch RestClient: {}", e.getMessage());
+            }
+        }
+        if (spool != null) {
+            if (spool.hasUnread() || spool.outstandingCount() > 0) {
+                logger.warn("Unconfirmed test results remain in {} and will be shipped on the next run",
+                        config.getSpoolPath());
+            }
+            spool.close();
+        }
+        retries.clear();
+        inProgress.set(0);
+        shipper = null;
+        ingester = null;
+        scheduler = null;
+        transport = null;
+        restClient = null;
+        spool = null;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Acknowledges delivered results in the spool and retries the failed ones
+     */
+    private final class ResultListener implements BulkListener<PendingResult> {
+
+        @Override
+        public void beforeBulk(long executionId, BulkRequest request, List<PendingResult> contexts) {
+            RunMetrics.increment("es.bulk.requests");
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, List<PendingResult> contexts,
+                              BulkResponse response) {
+            breaker.recordSuccess();
+            List<BulkResponseItem> items = response.items();
+            for (int i = 0; i < contexts.size(); i++) {
+                PendingResult result = contexts.get(i);
+                BulkResponseItem item = i < items.size() ? items.get(i) : null;
+                if (item != null && item.error() == null) {
+                    RunMetrics.increment("es.results.indexed");
+                    complete(result);
+                } else if (item != null && item.status() == 409) {
+                    // Already shipped before a crash or restart; the resultId makes this idempotent
+                    RunMetrics.increment("es.results.duplicate");
+                    complete(result);
+                } else if (item != null && item.status() != 429 && item.status() < 500) {
+                    // Mapping and validation errors will not succeed on retry
+                    reject(result, item.error().reason());
+                } else {
+                    retryOrPark(result, item == null ? "missing bulk item" : item.error().reason());
+                }
+            }
+            spool.checkpoint();
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, List<PendingResult> contexts,
+                              Throwable failure) {
+            logger.warn("Bulk request of {} result(s) failed: {}", contexts.size(), failure.getMessage());
+            breaker.recordFailure();
+            for (PendingResult result : contexts) {
+                retryOrPark(result, failure.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A spooled result on its way to Elasticsearch; delayed by its retry backoff when re-queued
+     */
+    private static final class PendingResult implements Delayed {
+        private final long position;
+        private final byte[] payload;
+        private final String resultId;
+        private final String scenario;
+        private final int attempt;
+        private final long readyAtNanos;
+
+        private PendingResult(long position, byte[] payload, String resultId, String scenario, int attempt) {
+            this.position = position;
+            this.payload = payload;
+            this.resultId = resultId;
+            this.scenario = scenario;
+            this.attempt = attempt;
+            long backoff = attempt == 0 ? 0 : RETRY_BACKOFF_MILLIS << (attempt - 1);
+            this.readyAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff);
+        }
+
+        private PendingResult retry(int nextAttempt) {
+            return new PendingResult(position, payload, resultId, scenario, nextAttempt);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(readyAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
         }
     }
 }
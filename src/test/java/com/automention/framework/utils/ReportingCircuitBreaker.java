@@ -0,0 +1,120 @@
+package com.automention.framework.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Reporting Circuit Breaker
+ * Trips after consecutive failures of the reporting backend so later calls fail fast, and
+ * half-opens after a cool-down to let a single health probe decide whether to close again
+ */
+public class ReportingCircuitBreaker {
+
+    private static final Logger logger = LogManager.getLogger(ReportingCircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final BooleanSupplier healthProbe;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAtNanos = new AtomicLong();
+
+    public ReportingCircuitBreaker(String name, int failureThreshold, long openMillis, BooleanSupplier healthProbe) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openMillis * 1_000_000L;
+        this.healthProbe = healthProbe;
+        publish(State.CLOSED);
+    }
+
+    /**
+     * Probe the backend once and open the breaker straight away if it is unhealthy
+     */
+    public boolean probe() {
+        if (healthProbe.getAsBoolean()) {
+            recordSuccess();
+            return true;
+        }
+        trip("health probe failed");
+        return false;
+    }
+
+    /**
+     * True if a call may go to the backend; when the cool-down has passed, one caller runs the
+     * health probe and the breaker closes or re-opens on its result
+     */
+    public boolean allowRequest() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && System.nanoTime() - openedAtNanos.get() >= openNanos
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            publish(State.HALF_OPEN);
+            return probe();
+        }
+        return false;
+    }
+
+    public void recordSuccess() {
+        consecutiveFailures.set(0);
+        State previous = state.getAndSet(State.CLOSED);
+        if (previous != State.CLOSED) {
+            logger.info("{} is reachable again, circuit closed", name);
+            publish(State.CLOSED);
+        }
+    }
+
+    public void recordFailure() {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            trip(consecutiveFailures.get() + " consecutive failures");
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public boolean isOpen() {
+        return state.get() != State.CLOSED;
+    }
+
+    private void trip(String reason) {
+        State previous;
+        do {
+            previous = state.get();
+            if (previous == State.OPEN) {
+                // Late failures from calls already in flight must not push the half-open probe back
+                return;
+            }
+            // Set before the state changes so allowRequest never sees OPEN with an old timestamp
+            openedAtNanos.set(System.nanoTime());
+        } while (!state.compareAndSet(previous, State.OPEN));
+        if (previous == State.CLOSED) {
+            // One trip per outage; failed half-open probes only re-open the circuit
+            RunMetrics.increment("es.breaker.trips");
+            logger.warn("{} circuit opened ({}); retrying in {}s", name, reason, openNanos / 1_000_000_000L);
+            publish(State.OPEN);
+        } else if (previous == State.HALF_OPEN) {
+            logger.debug("{} still unreachable ({}); retrying in {}s", name, reason, openNanos / 1_000_000_000L);
+            publish(State.OPEN);
+        }
+    }
+
+    private static void publish(State state) {
+        RunMetrics.setValue("es.breaker.state", state.name());
+    }
+}
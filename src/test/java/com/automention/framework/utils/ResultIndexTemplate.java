@@ -0,0 +1,96 @@
+package com.automention.framework.utils;
+
+import com.automention.framework.config.ApplicationConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.ResponseException;
+import org.elasticsearch.client.RestClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Result Index Template
+ * Installs the lifecycle policy and index template that turn elasticsearch.index into a data
+ * stream with explicit mappings and time-based rollover. Mapping files live under
+ * src/test/resources/elasticsearch
+ */
+public class ResultIndexTemplate {
+
+    private static final Logger logger = LogManager.getLogger(ResultIndexTemplate.class);
+    private static final String TEMPLATE_RESOURCE = "elasticsearch/result-index-template.json";
+    private static final String POLICY_RESOURCE = "elasticsearch/result-ilm-policy.json";
+
+    private final RestClient restClient;
+    private final ApplicationConfig config;
+    private final ObjectMapper objectMapper;
+
+    public ResultIndexTemplate(RestClient restClient, ApplicationConfig config, ObjectMapper objectMapper) {
+        this.restClient = restClient;
+        this.config = config;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Create or update the policy and template; both calls are idempotent
+     */
+    public void install() throws IOException {
+        String index = config.getElasticsearchIndex();
+        String policyName = index + "-policy";
+
+        String policy = readResource(POLICY_RESOURCE)
+                .replace("${max_age}", config.getRolloverMaxAge())
+                .replace("${max_size}", config.getRolloverMaxSize())
+                .replace("${retention}", config.getIndexRetention());
+        put("/_ilm/policy/" + policyName, policy);
+
+        ObjectNode template = (ObjectNode) objectMapper.readTree(readResource(TEMPLATE_RESOURCE));
+        template.putArray("index_patterns").add(index);
+        ((ObjectNode) template.path("template").path("settings")).put("index.lifecycle.name", policyName);
+        put("/_index_template/" + index + "-template", objectMapper.writeValueAsString(template));
+
+        if (isLegacyIndex(index)) {
+            logger.warn("'{}' already exists as a regular index and keeps its dynamic mapping; "
+                    + "delete or reindex it to switch to the managed data stream", index);
+        }
+        logger.info("Installed index template and lifecycle policy for {}", index);
+    }
+
+    private boolean isLegacyIndex(String index) throws IOException {
+        try {
+            restClient.performRequest(new Request("GET", "/_data_stream/" + index));
+            return false;
+        } catch (ResponseException e) {
+            if (e.getResponse().getStatusLine().getStatusCode() != 404) {
+                throw e;
+            }
+        }
+        try {
+            restClient.performRequest(new Request("HEAD", "/" + index));
+            return true;
+        } catch (ResponseException e) {
+            return false;
+        }
+    }
+
+    private void put(String endpoint, String body) throws IOException {
+        Request request = new Request("PUT", endpoint);
+        request.setEntity(new StringEntity(body, ContentType.APPLICATION_JSON));
+        restClient.performRequest(request);
+    }
+
+    private static String readResource(String name) throws IOException {
+        try (InputStream input = ResultIndexTemplate.class.getClassLoader().getResourceAsStream(name)) {
+            if (input == null) {
+                throw new IOException("Missing resource: " + name);
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
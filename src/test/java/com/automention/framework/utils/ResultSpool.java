@@ -0,0 +1,363 @@
+package com.automention.framework.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Result Spool
+ * Durable write-ahead log for result documents: append-only, memory-mapped segment files of
+ * length- and CRC32-framed records, plus a checkpoint of the last acknowledged position so the
+ * next process resumes shipping where the previous one stopped
+ */
+public class ResultSpool implements Closeable {
+
+    private static final Logger logger = LogManager.getLogger(ResultSpool.class);
+
+    // Record layout: [int length][int crc32][payload]; a zero length marks the end of a segment
+    private static final int HEADER_BYTES = 8;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final NavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final NavigableSet<Long> outstanding = new ConcurrentSkipListSet<>();
+    private final Object writeLock = new Object();
+    private final Object checkpointLock = new Object();
+
+    private Segment writeSegment;
+    private volatile long writePosition;
+    private volatile long readPosition;
+    private long checkpointPosition;
+
+    private ResultSpool(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Open (or create) the spool in a directory, recovering the write position and checkpoint
+     */
+    public static ResultSpool open(Path directory, int segmentSize) throws IOException {
+        ResultSpool spool = new ResultSpool(directory, segmentSize);
+        spool.recover();
+        return spool;
+    }
+
+    /**
+     * Append one record; safe to call from any thread, never touches the network
+     */
+    public void append(byte[] payload) throws IOException {
+        append(payload, 0, payload.length);
+    }
+
+    /**
+     * Append one record from part of a buffer
+     */
+    public void append(byte[] payload, int offset, int length) throws IOException {
+        if (length == 0) {
+            throw new IllegalArgumentException("Empty spool record");
+        }
+        int needed = HEADER_BYTES + length;
+        synchronized (writeLock) {
+            int start = offsetOf(writePosition);
+            if (start + needed > writeSegment.capacity()) {
+                writeSegment.buffer.force();
+                writeSegment = createSegment(writeSegment.id + 1, Math.max(segmentSize, needed));
+                start = 0;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(payload, offset, length);
+            MappedByteBuffer buffer = writeSegment.buffer;
+            buffer.put(start + HEADER_BYTES, payload, offset, length);
+            buffer.putInt(start + 4, (int) crc.getValue());
+            // Length goes last so a torn write never looks like a complete record
+            buffer.putInt(start, length);
+            writePosition = position(writeSegment.id, start + needed);
+        }
+    }
+
+    /**
+     * Read the next unshipped record, or null when the reader has caught up (shipper thread only)
+     */
+    public Record next() {
+        while (readPosition < writePosition) {
+            long position = readPosition;
+            Segment segment = segments.get(segmentOf(position));
+            int offset = offsetOf(position);
+            if (segment == null || offset + HEADER_BYTES > segment.capacity()
+                    || segment.buffer.getInt(offset) <= 0) {
+                if (!moveToNextSegment(position)) {
+                    return null;
+                }
+                continue;
+            }
+
+            int length = segment.buffer.getInt(offset);
+            int expectedCrc = segment.buffer.getInt(offset + 4);
+            if (offset + HEADER_BYTES + length > segment.capacity()) {
+                skipCorruptSegment(segment, offset, "record overruns segment");
+                continue;
+            }
+            byte[] payload = new byte[length];
+            segment.buffer.get(offset + HEADER_BYTES, payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != expectedCrc) {
+                skipCorruptSegment(segment, offset, "checksum mismatch");
+                continue;
+            }
+
+            outstanding.add(position);
+            readPosition = position(segment.id, offset + HEADER_BYTES + length);
+            return new Record(position, payload);
+        }
+        return null;
+    }
+
+    /**
+     * Mark a record as delivered so the checkpoint can move past it
+     */
+    public void acknowledge(long position) {
+        outstanding.remove(position);
+    }
+
+    /**
+     * Persist the lowest unacknowledged position and delete segments that are fully delivered
+     */
+    public void checkpoint() {
+        synchronized (checkpointLock) {
+            Long oldest = outstanding.isEmpty() ? null : outstanding.first();
+            long committed = oldest != null ? Math.min(oldest, readPosition) : readPosition;
+            if (committed <= checkpointPosition) {
+                return;
+            }
+            try {
+                Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+                String value = segmentOf(committed) + " " + offsetOf(committed);
+                Files.writeString(temp, value, StandardCharsets.UTF_8);
+                Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                checkpointPosition = committed;
+            } catch (IOException e) {
+                logger.warn("Could not write result spool checkpoint: {}", e.getMessage());
+                return;
+            }
+            deleteSegmentsBefore(segmentOf(committed));
+        }
+    }
+
+    /**
+     * True while records are waiting to be read
+     */
+    public boolean hasUnread() {
+        return readPosition < writePosition;
+    }
+
+    /**
+     * Records read but not yet acknowledged
+     */
+    public int outstandingCount() {
+        return outstanding.size();
+    }
+
+    @Override
+    public void close() {
+        synchronized (writeLock) {
+            writeSegment.buffer.force();
+        }
+        checkpoint();
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+        segments.clear();
+    }
+
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    long id = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                    segments.put(id, mapSegment(id, file, Files.size(file)));
+                }
+            }
+        }
+        writeSegment = segments.isEmpty() ? createSegment(1, segmentSize) : segments.lastEntry().getValue();
+        writePosition = position(writeSegment.id, scanWriteOffset(writeSegment));
+
+        long checkpoint = readCheckpoint();
+        if (segments.get(segmentOf(checkpoint)) == null) {
+            checkpoint = position(segments.firstKey(), 0);
+        }
+        checkpointPosition = checkpoint;
+        readPosition = checkpoint;
+        if (hasUnread()) {
+            logger.info("Result spool has results from a previous run to ship ({})", directory);
+        }
+    }
+
+    private int scanWriteOffset(Segment segment) {
+        int offset = 0;
+        while (offset + HEADER_BYTES <= segment.capacity()) {
+            int length = segment.buffer.getInt(offset);
+            if (length <= 0 || offset + HEADER_BYTES + length > segment.capacity()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            segment.buffer.get(offset + HEADER_BYTES, payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != segment.buffer.getInt(offset + 4)) {
+                break;
+            }
+            offset += HEADER_BYTES + length;
+        }
+        if (offset + HEADER_BYTES <= segment.capacity() && segment.buffer.getInt(offset) != 0) {
+            // A record was torn by a crash; clear it so new appends start from a clean tail
+            logger.warn("Discarding torn record at {}:{} in result spool", segment.id, offset);
+            for (int i = offset; i < segment.capacity(); i++) {
+                segment.buffer.put(i, (byte) 0);
+            }
+        }
+        return offset;
+    }
+
+    private long readCheckpoint() {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        try {
+            if (Files.exists(file)) {
+                String[] parts = Files.readString(file, StandardCharsets.UTF_8).trim().split(" ");
+                return position(Long.parseLong(parts[0]), Integer.parseInt(parts[1]));
+            }
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable result spool checkpoint: {}", e.getMessage());
+        }
+        return 0;
+    }
+
+    private boolean moveToNextSegment(long position) {
+        Long next = segments.higherKey(segmentOf(position));
+        if (next == null) {
+            return false;
+        }
+        readPosition = position(next, 0);
+        return true;
+    }
+
+    private void skipCorruptSegment(Segment segment, int offset, String reason) {
+        RunMetrics.increment("es.spool.corrupt");
+        logger.error("Result spool segment {} is corrupt at offset {} ({}); skipping the rest of it",
+                segment.id, offset, reason);
+        if (!moveToNextSegment(position(segment.id, offset))) {
+            readPosition = writePosition;
+        }
+    }
+
+    private void deleteSegmentsBefore(long segmentId) {
+        for (Segment segment : segments.headMap(segmentId, false).values()) {
+            if (segment == writeSegment) {
+                continue;
+            }
+            segments.remove(segment.id);
+            segment.close();
+            try {
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                // Still mapped on some platforms; it is removed on a later run
+                logger.debug("Could not delete spool segment {}: {}", segment.path, e.getMessage());
+            }
+        }
+    }
+
+    private Segment createSegment(long id, int size) throws IOException {
+        Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+        Segment segment = mapSegment(id, file, size);
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private static Segment mapSegment(long id, Path file, long size) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        return new Segment(id, file, channel, buffer);
+    }
+
+    private static long position(long segmentId, int offset) {
+        return (segmentId << 32) | offset;
+    }
+
+    private static long segmentOf(long position) {
+        return position >>> 32;
+    }
+
+    private static int offsetOf(long position) {
+        return (int) position;
+    }
+
+    /**
+     * One spooled record and the position used to acknowledge it
+     */
+    public static final class Record {
+        private final long position;
+        private final byte[] payload;
+
+        private Record(long position, byte[] payload) {
+            this.position = position;
+            this.payload = payload;
+        }
+
+        public long getPosition() {
+            return position;
+        }
+
+        public byte[] getPayload() {
+            return payload;
+        }
+    }
+
+    private static final class Segment {
+        private final long id;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        private Segment(long id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        private int capacity() {
+            return buffer.capacity();
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Error closing spool segment {}: {}", path, e.getMessage());
+            }
+        }
+    }
+}
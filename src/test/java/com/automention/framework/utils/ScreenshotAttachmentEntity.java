@@ -0,0 +1,139 @@
+package com.automention.framework.utils;
+
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Screenshot Attachment Request Body
+ * Writes a screenshot attachment document as JSON, Base64-encoding the image straight from its
+ * stream into the request so the encoded payload is never held in memory
+ */
+public class ScreenshotAttachmentEntity extends AbstractHttpEntity {
+
+    private static final byte[] TRAILER = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final String header;
+    private final Callable<InputStream> imageSource;
+
+    public ScreenshotAttachmentEntity(String reference, Callable<InputStream> imageSource) {
+        this.header = "{\"screenshotRef\":\"" + reference + "\",\"contentType\":\"image/png\",\"data\":\"";
+        this.imageSource = imageSource;
+        setContentType(ContentType.APPLICATION_JSON.toString());
+        setChunked(true);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        // The image is reopened for every write, so the client may retry on another node
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return -1;
+    }
+
+    /**
+     * Fresh stream over the whole document; the async client reads the body through this
+     */
+    @Override
+    public InputStream getContent() throws IOException {
+        InputStream image;
+        try {
+            image = imageSource.call();
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Could not open screenshot: " + e.getMessage(), e);
+        }
+        return new SequenceInputStream(Collections.enumeration(List.of(
+                new ByteArrayInputStream(header.getBytes(StandardCharsets.UTF_8)),
+                new Base64EncodingInputStream(image),
+                new ByteArrayInputStream(TRAILER))));
+    }
+
+    @Override
+    public void writeTo(OutputStream output) throws IOException {
+        try (InputStream content = getContent()) {
+            content.transferTo(output);
+        }
+        output.flush();
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    /**
+     * Base64-encodes an image stream as it is read, a few KB at a time
+     */
+    private static final class Base64EncodingInputStream extends InputStream {
+
+        // Multiple of 3 so only the last chunk is padded
+        private static final int CHUNK = 3 * 1024;
+
+        private final InputStream image;
+        private final byte[] raw = new byte[CHUNK];
+        private byte[] encoded = new byte[0];
+        private int position;
+        private boolean finished;
+
+        private Base64EncodingInputStream(InputStream image) {
+            this.image = image;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (position == encoded.length && !fill()) {
+                return -1;
+            }
+            int count = Math.min(len, encoded.length - position);
+            System.arraycopy(encoded, position, b, off, count);
+            position += count;
+            return count;
+        }
+
+        private boolean fill() throws IOException {
+            if (finished) {
+                return false;
+            }
+            int read = image.readNBytes(raw, 0, CHUNK);
+            if (read < CHUNK) {
+                finished = true;
+            }
+            if (read == 0) {
+                return false;
+            }
+            encoded = Base64.getEncoder().encode(read == CHUNK ? raw : Arrays.copyOf(raw, read));
+            position = 0;
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            image.close();
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.automention.framework.utils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test Result Document
+ * Typed result sent to Elasticsearch; its fields follow result-index-template.json and it is
+ * serialized by TestResultWriter without an intermediate map
+ */
+public class TestResultDocument {
+
+    private String resultId;
+    private Instant timestamp = Instant.now();
+    private String scenario;
+    private String status;
+    private String featureName = "Unknown";
+    private String testCaseName;
+    private String loginMessage = "";
+    private String errorMessage = "";
+    private String stackTrace;
+    private String screenshotRef;
+    private Collection<String> tags;
+    private String thread;
+    private String browser;
+    private String gridUrl;
+    private String className;
+    private String methodName;
+    private Long waitTimeMs;
+    private Long durationMs;
+    private Map<String, Map<String, Object>> commandLatency;
+    private Map<String, Object> extra;
+
+    public TestResultDocument() {
+    }
+
+    public TestResultDocument(String scenario, String status) {
+        this.scenario = scenario;
+        this.status = status;
+        this.testCaseName = scenario;
+    }
+
+    /**
+     * Build a document from the untyped additionalData map used by older callers; keys without
+     * a mapped field go to the flattened "extra" field
+     */
+    @SuppressWarnings("unchecked")
+    public static TestResultDocument from(String scenarioName, String status, String screenshotRef,
+                                          String errorMessage, Map<String, Object> additionalData) {
+        TestResultDocument document = new TestResultDocument(scenarioName, status);
+        document.setScreenshotRef(screenshotRef);
+        document.setErrorMessage(errorMessage);
+        if (additionalData == null) {
+            return document;
+        }
+        additionalData.forEach((key, value) -> {
+            if (value == null) {
+                return;
+            }
+            switch (key) {
+                case "featurename" -> document.setFeatureName(value.toString());
+                case "testCaseName" -> document.setTestCaseName(value.toString());
+                case "loginMessage" -> document.setLoginMessage(value.toString());
+                case "stackTrace" -> document.setStackTrace(value.toString());
+                case "thread" -> document.setThread(value.toString());
+                case "browser" -> document.setBrowser(value.toString());
+                case "gridUrl" -> document.setGridUrl(value.toString());
+                case "className" -> document.setClassName(value.toString());
+                case "methodName" -> document.setMethodName(value.toString());
+                case "waitTimeMs" -> document.setWaitTimeMs(((Number) value).longValue());
+                case "durationMs" -> document.setDurationMs(((Number) value).longValue());
+                case "tags" -> document.setTags(toStrings((Collection<?>) value));
+                case "commandLatency" -> document.setCommandLatency((Map<String, Map<String, Object>>) value);
+                default -> document.putExtra(key, value);
+            }
+        });
+        return document;
+    }
+
+    private static List<String> toStrings(Collection<?> values) {
+        List<String> strings = new ArrayList<>(values.size());
+        values.forEach(value -> strings.add(String.valueOf(value)));
+        return strings;
+    }
+
+    public void putExtra(String key, Object value) {
+        if (extra == null) {
+            extra = new HashMap<>();
+        }
+        extra.put(key, value);
+    }
+
+    // Getters and Setters
+    public String getResultId() {
+        return resultId;
+    }
+
+    public void setResultId(String resultId) {
+        this.resultId = resultId;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Instant timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public void setScenario(String scenario) {
+        this.scenario = scenario;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getFeatureName() {
+        return featureName;
+    }
+
+    public void setFeatureName(String featureName) {
+        this.featureName = featureName;
+    }
+
+    public String getTestCaseName() {
+        return testCaseName;
+    }
+
+    public void setTestCaseName(String testCaseName) {
+        this.testCaseName = testCaseName;
+    }
+
+    public String getLoginMessage() {
+        return loginMessage;
+    }
+
+    public void setLoginMessage(String loginMessage) {
+        this.loginMessage = loginMessage != null ? loginMessage : "";
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage != null ? errorMessage : "";
+    }
+
+    public String getStackTrace() {
+        return stackTrace;
+    }
+
+    public void setStackTrace(String stackTrace) {
+        this.stackTrace = stackTrace;
+    }
+
+    public String getScreenshotRef() {
+        return screenshotRef;
+    }
+
+    public void setScreenshotRef(String screenshotRef) {
+        this.screenshotRef = screenshotRef;
+    }
+
+    public Collection<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(Collection<String> tags) {
+        this.tags = tags;
+    }
+
+    public String getThread() {
+        return thread;
+    }
+
+    public void setThread(String thread) {
+        this.thread = thread;
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public void setBrowser(String browser) {
+        this.browser = browser;
+    }
+
+    public String getGridUrl() {
+        return gridUrl;
+    }
+
+    public void setGridUrl(String gridUrl) {
+        this.gridUrl = gridUrl;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public void setClassName(String className) {
+        this.className = className;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public void setMethodName(String methodName) {
+        this.methodName = methodName;
+    }
+
+    public Long getWaitTimeMs() {
+        return waitTimeMs;
+    }
+
+    public void setWaitTimeMs(Long waitTimeMs) {
+        this.waitTimeMs = waitTimeMs;
+    }
+
+    public Long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(Long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public Map<String, Map<String, Object>> getCommandLatency() {
+        return commandLatency;
+    }
+
+    public void setCommandLatency(Map<String, Map<String, Object>> commandLatency) {
+        this.commandLatency = commandLatency;
+    }
+
+    public Map<String, Object> getExtra() {
+        return extra;
+    }
+}
@@ -0,0 +1,248 @@
+package com.automention.framework.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Test Result Writer
+ * Streams TestResultDocument straight to JSON with a shared JsonFactory, pre-encoded field names
+ * and a per-thread reusable buffer, so serializing a result allocates almost nothing
+ */
+public final class TestResultWriter {
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+    private static final ThreadLocal<ResultBuffer> buffers = ThreadLocal.withInitial(() -> new ResultBuffer(4096));
+    private static final ThreadLocal<char[]> scratch = ThreadLocal.withInitial(() -> new char[256]);
+
+    private static final SerializedString RESULT_ID = new SerializedString("resultId");
+    private static final SerializedString SCENARIO = new SerializedString("scenario");
+    private static final SerializedString SCREENSHOT_REF = new SerializedString("screenshotRef");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString AT_TIMESTAMP = new SerializedString("@timestamp");
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializedString ERROR_MESSAGE = new SerializedString("errorMessage");
+    private static final SerializedString FEATURE_NAME = new SerializedString("featurename");
+    private static final SerializedString TEST_CASE_NAME = new SerializedString("testCaseName");
+    private static final SerializedString LOGIN_MESSAGE = new SerializedString("loginMessage");
+    private static final SerializedString FEATURE_NAME_STATUS = new SerializedString("featurename_status");
+    private static final SerializedString STACK_TRACE = new SerializedString("stackTrace");
+    private static final SerializedString TAGS = new SerializedString("tags");
+    private static final SerializedString THREAD = new SerializedString("thread");
+    private static final SerializedString BROWSER = new SerializedString("browser");
+    private static final SerializedString GRID_URL = new SerializedString("gridUrl");
+    private static final SerializedString CLASS_NAME = new SerializedString("className");
+    private static final SerializedString METHOD_NAME = new SerializedString("methodName");
+    private static final SerializedString WAIT_TIME_MS = new SerializedString("waitTimeMs");
+    private static final SerializedString DURATION_MS = new SerializedString("durationMs");
+    private static final SerializedString COMMAND_LATENCY = new SerializedString("commandLatency");
+    private static final SerializedString COMMAND = new SerializedString("command");
+    private static final SerializedString EXTRA = new SerializedString("extra");
+
+    private static final byte[] THUMBNAIL_FIELD = ",\"screenshotThumbnail\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INDEX_FIELD = "\",\"screenshotIndex\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CLOSE_FIELDS = "\"}".getBytes(StandardCharsets.US_ASCII);
+
+    private TestResultWriter() {
+    }
+
+    /**
+     * Serialize into the calling thread's reusable buffer; valid until the thread's next call
+     */
+    public static ResultBuffer serialize(TestResultDocument document) throws IOException {
+        ResultBuffer buffer = buffers.get();
+        buffer.reset();
+        try (JsonGenerator generator = jsonFactory.createGenerator(buffer)) {
+            write(generator, document);
+        }
+        return buffer;
+    }
+
+    /**
+     * Write a document with any generator, e.g. one writing directly into a request body
+     */
+    public static void write(JsonGenerator generator, TestResultDocument document) throws IOException {
+        generator.writeStartObject();
+        // Keys the shipper scans for come first so it can stop reading early
+        writeString(generator, RESULT_ID, document.getResultId());
+        writeString(generator, SCENARIO, document.getScenario());
+        writeString(generator, SCREENSHOT_REF, document.getScreenshotRef());
+        writeString(generator, STATUS, document.getStatus());
+        generator.writeFieldName(AT_TIMESTAMP);
+        generator.writeString(document.getTimestamp().toString());
+        generator.writeFieldName(TIMESTAMP);
+        generator.writeString(LocalDateTime.ofInstant(document.getTimestamp(), ZoneId.systemDefault()).toString());
+        writeString(generator, ERROR_MESSAGE, document.getErrorMessage());
+        writeString(generator, FEATURE_NAME, document.getFeatureName());
+        writeString(generator, TEST_CASE_NAME, document.getTestCaseName());
+        writeString(generator, LOGIN_MESSAGE, document.getLoginMessage());
+        generator.writeFieldName(FEATURE_NAME_STATUS);
+        writeJoined(generator, document.getFeatureName(), " - ", document.getStatus());
+        writeString(generator, STACK_TRACE, document.getStackTrace());
+        writeString(generator, THREAD, document.getThread());
+        writeString(generator, BROWSER, document.getBrowser());
+        writeString(generator, GRID_URL, document.getGridUrl());
+        writeString(generator, CLASS_NAME, document.getClassName());
+        writeString(generator, METHOD_NAME, document.getMethodName());
+        writeNumber(generator, WAIT_TIME_MS, document.getWaitTimeMs());
+        writeNumber(generator, DURATION_MS, document.getDurationMs());
+
+        Collection<String> tags = document.getTags();
+        if (tags != null) {
+            generator.writeFieldName(TAGS);
+            generator.writeStartArray();
+            for (String tag : tags) {
+                generator.writeString(tag);
+            }
+            generator.writeEndArray();
+        }
+
+        Map<String, Map<String, Object>> latency = document.getCommandLatency();
+        if (latency != null && !latency.isEmpty()) {
+            generator.writeFieldName(COMMAND_LATENCY);
+            generator.writeStartArray();
+            for (Map.Entry<String, Map<String, Object>> entry : latency.entrySet()) {
+                generator.writeStartObject();
+                generator.writeFieldName(COMMAND);
+                generator.writeString(entry.getKey());
+                for (Map.Entry<String, Object> stat : entry.getValue().entrySet()) {
+                    generator.writeFieldName(stat.getKey());
+                    writeValue(generator, stat.getValue());
+                }
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+
+        Map<String, Object> extra = document.getExtra();
+        if (extra != null && !extra.isEmpty()) {
+            generator.writeFieldName(EXTRA);
+            generator.writeStartObject();
+            for (Map.Entry<String, Object> entry : extra.entrySet()) {
+                generator.writeFieldName(entry.getKey());
+                writeValue(generator, entry.getValue());
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Append the screenshot thumbnail and attachment index to a serialized document
+     */
+    public static byte[] withScreenshot(byte[] payload, String thumbnailBase64, String screenshotIndex) {
+        int end = payload.length - 1;
+        while (end > 0 && payload[end] != '}') {
+            end--;
+        }
+        byte[] thumbnail = thumbnailBase64.getBytes(StandardCharsets.US_ASCII);
+        byte[] index = JsonStringEncoder.getInstance().quoteAsUTF8(screenshotIndex);
+        ByteArrayOutputStream output = new ByteArrayOutputStream(end + thumbnail.length + index.length + 64);
+        output.write(payload, 0, end);
+        output.writeBytes(THUMBNAIL_FIELD);
+        output.writeBytes(thumbnail);
+        output.writeBytes(INDEX_FIELD);
+        output.writeBytes(index);
+        output.writeBytes(CLOSE_FIELDS);
+        return output.toByteArray();
+    }
+
+    /**
+     * Read resultId, scenario and screenshotRef from a serialized document without binding it
+     */
+    public static String[] readKeys(byte[] payload) throws IOException {
+        String[] keys = new String[3];
+        int found = 0;
+        try (JsonParser parser = jsonFactory.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Result document is not a JSON object");
+            }
+            while (found < keys.length && parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                int slot = "resultId".equals(name) ? 0 : "scenario".equals(name) ? 1 : "screenshotRef".equals(name) ? 2 : -1;
+                if (slot >= 0 && value == JsonToken.VALUE_STRING) {
+                    keys[slot] = parser.getText();
+                    found++;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static void writeString(JsonGenerator generator, SerializedString name, String value) throws IOException {
+        if (value != null) {
+            generator.writeFieldName(name);
+            generator.writeString(value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator generator, SerializedString name, Long value) throws IOException {
+        if (value != null) {
+            generator.writeFieldName(name);
+            generator.writeNumber(value);
+        }
+    }
+
+    private static void writeValue(JsonGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Long || value instanceof Integer) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Number number) {
+            generator.writeNumber(number.doubleValue());
+        } else if (value instanceof Boolean bool) {
+            generator.writeBoolean(bool);
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+
+    private static void writeJoined(JsonGenerator generator, String first, String separator, String second)
+            throws IOException {
+        String left = first != null ? first : "";
+        String right = second != null ? second : "";
+        int length = left.length() + separator.length() + right.length();
+        char[] chars = scratch.get();
+        if (chars.length < length) {
+            chars = new char[length * 2];
+            scratch.set(chars);
+        }
+        left.getChars(0, left.length(), chars, 0);
+        separator.getChars(0, separator.length(), chars, left.length());
+        right.getChars(0, right.length(), chars, left.length() + separator.length());
+        generator.writeString(chars, 0, length);
+    }
+
+    /**
+     * Growable byte buffer that exposes its backing array so callers can copy without toByteArray()
+     */
+    public static final class ResultBuffer extends ByteArrayOutputStream {
+
+        private ResultBuffer(int size) {
+            super(size);
+        }
+
+        public byte[] array() {
+            return buf;
+        }
+
+        public byte[] toPayload() {
+            return Arrays.copyOf(buf, count);
+        }
+    }
+}
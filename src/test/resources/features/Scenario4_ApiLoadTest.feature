@@ -0,0 +1,13 @@
+@Scenario4
+Feature: API Load Test Scenario 4
+  As a tester
+  I want to drive the products API at a sustained request rate
+  So that I can verify its latency stays within budget under load
+
+  @Scenario4 @load
+  Scenario: Products API stub sustains the target rate within the latency budget
+    Given a local products API stub responding in 20 ms
+    And the API load profile ramps up over 2 seconds and holds for 5 seconds
+    Then the products API sustains 20 rps with p99 under 500 ms
+    And the products API should return at least 12 products
+    And every product from the products API should match the schema "products-list.schema.json"
@@ -0,0 +1,20 @@
+@Scenario5
+Feature: API Fan-Out Test Scenario 5
+  As a tester
+  I want to call several API endpoints at once
+  So that I can check them all in about the time of the slowest one
+
+  @Scenario5 @fanout
+  Scenario: Local API stub endpoints are checked concurrently with one aggregated result
+    Given a local products API stub responding in 300 ms
+    And the local API stub also answers "/api/brandsList" with status 200 after 300 ms
+    And the local API stub also answers "/api/searchProduct" with status 405 after 300 ms
+    When I call these API endpoints concurrently:
+      | name          | endpoint           | status |
+      | products      | /api/productsList  | 200    |
+      | brands        | /api/brandsList    | 200    |
+      | searchByGet   | /api/searchProduct | 405    |
+      | unknown       | /api/unknown       | 404    |
+    Then all concurrent API calls should succeed
+    And every concurrent API call should complete within 5000 ms
+    And the concurrent API calls should take less time than calling them one by one